@@ -7,7 +7,6 @@ import chessGame.mechanics.Position;
 import chessGame.mechanics.game.ChessGame;
 import chessGame.mechanics.game.ChessGameImpl;
 import chessGame.mechanics.move.Move;
-import chessGame.mechanics.move.MoveForGenerator;
 import chessGame.mechanics.move.MoveHistory;
 import chessGame.mechanics.move.PlayerMove;
 
@@ -69,7 +68,7 @@ public class GameConverter {
             setMoveNotation(move, copy, builder);
             copy.makeMove(move);
 
-            if (MoveForGenerator.isInCheck(copy.getBoard().getKing(!move.isWhite()), copy.getBoard())) {
+            if (copy.getMoveGenerator().isInCheck(copy.getBoard().getKing(!move.isWhite()), copy.getBoard())) {
                 builder.append(checked);
             }
 
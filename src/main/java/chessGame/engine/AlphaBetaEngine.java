@@ -14,8 +14,12 @@ import java.util.stream.Collectors;
  *
  */
 class AlphaBetaEngine extends Engine {
+    //rates strikes, which do not lose material, above all quiet moves
+    private static final int GOOD_STRIKE = 100 * PAWN;
+
     private PlayerMove best;
     private int alphaBetaCounter;
+    private final EvaluationCache evaluations = new EvaluationCache();
 
     AlphaBetaEngine(ChessGame game, Player player, int maxDepth) {
         super(game, player, maxDepth);
@@ -49,22 +53,31 @@ class AlphaBetaEngine extends Engine {
         System.out.println("counted: " + alphaBetaCounter);
         System.out.println("succeeded in " + seconds + " seconds");
         alphaBetaCounter = 0;
+        evaluations.printInfo();
     }
 
     private int alphaBeta(SimulationGame game, int maxDepth, int depth, int alpha, int beta) {
         alphaBetaCounter++;
-        final List<PlayerMove> moves = new ArrayList<>(MoveForGenerator.getAllowedMoves(game.getAtMove().getColor(), game));
 
-        if (moves.isEmpty()) {
-            return evaluate(game);
+        if (depth < maxDepth && isDrawByRule(game)) {
+            return drawScore(game.getAtMoveColor());
         }
 
+        //a leaf needs no moves, only to know if there is one at all, no legal move is mate or stalemate
         if (depth == 0) {
-            return evaluate(game);
+            return MoveForGenerator.hasAllowedMove(game.getAtMoveColor(), game) ? evaluate(game) : terminalScore(game, maxDepth);
+        }
+
+        final List<PlayerMove> moves = new ArrayList<>(game.getMoveGenerator().getAllowedMoves(game.getAtMove().getColor(), game));
+
+        //no legal move is mate or stalemate
+        if (moves.isEmpty()) {
+            return terminalScore(game, maxDepth - depth);
         }
 
-        //sort the moves after the values of their figures
-        moves.sort(Comparator.comparingDouble(this::worth).reversed());
+        //strikes which keep material first, strikes which lose material last
+        final FigureBoard board = game.getBoard();
+        moves.sort(Comparator.comparingInt((PlayerMove move) -> worth(board, move)).reversed());
 
         int max = alpha;
         for (PlayerMove move : moves) {
@@ -101,34 +114,52 @@ class AlphaBetaEngine extends Engine {
     }
 
     /**
+     * Worth of the move for ordering, in centipawns.
+     * Strikes are rated by the material they win in the exchange they start, strikes which win or keep
+     * material are searched first, strikes which lose material last.
      *
-     *
-     * @param playerMove
-     * @return
+     * @param board      board before the move
+     * @param playerMove move to rate
+     * @return the worth of the move
      */
-    private double worth(PlayerMove playerMove) {
-        final Move mainMove = playerMove.getMainMove();
-        double worth = mainMove.getFigure().getWorth();
-
-        final Double secondaryWorth = playerMove.getSecondaryMove().map(move -> move.getFigure().getWorth()).orElse(0d);
-        worth = worth + secondaryWorth * 10;
+    private int worth(FigureBoard board, PlayerMove playerMove) {
+        final int move = PackedMove.encode(playerMove);
 
-        final Double promotionWorth = playerMove.getPromotionMove().map(move -> move.getFigure().getWorth()).orElse(0d);
-        worth += promotionWorth;
+        if (PackedMove.isCapture(move)) {
+            final int exchange = AttackDetector.staticExchange(board, move);
+            return exchange < 0 ? exchange : GOOD_STRIKE + exchange;
+        }
+        int worth = PackedMove.getPiece(move).getCentipawns();
 
+        final FigureType promotion = PackedMove.getPromotion(move);
+        if (promotion != null) {
+            worth += promotion.getCentipawns();
+        }
         return worth;
     }
 
     /**
      * Evaluates the Board<Figure> according to the sum of the player figures worth, subtracting the worth
-     * of their figures on the bench.
-     * A Board<Figure> which evaluates to a Draw will be subtracted 500 points, if it evaluates to a Win
-     * 2000 points will be added.
+     * of their figures on the bench, in centipawns.
+     * Ended games are recognized by the search, which finds no legal moves or a draw by rule.
+     * <p>
+     * The terms, which depend only on the position, are remembered in the {@link EvaluationCache}.
      *
      * @param game game with board to evaluate
      * @return board evaluation in point of view of the drawing/moving player
      */
     private int evaluate(SimulationGame game) {
+        final long hash = game.getBoard().getHash();
+        int eval = evaluations.get(hash);
+
+        if (eval == EvaluationCache.MISSING) {
+            eval = evaluatePosition(game);
+            evaluations.put(hash, eval);
+        }
+        return eval + getBenchWorthDiff(game.getAtMove().getColor());
+    }
+
+    private int evaluatePosition(SimulationGame game) {
         FigureBoard board = game.getBoard();
 
         Map<Color, List<Figure>> playerFigures = board.getPlayerFigures();
@@ -139,41 +170,33 @@ class AlphaBetaEngine extends Engine {
         List<Figure> notAtMoveFigures = playerFigures.get(Color.getEnemy(player));
 
 
-        final int figureWorthDiff = getFigureWorthDiff(atMoveFigures, notAtMoveFigures);
-        final int benchWorthDiff = getBenchWorthDiff(player);
-        int eval = figureWorthDiff + benchWorthDiff;
+        int eval = board.getMaterial(player) - board.getMaterial(Color.getEnemy(player));
 
         List<Position> atMovePosition = getAllPositions(board, atMoveFigures);
         List<Position> notAtMovePosition = getAllPositions(board, notAtMoveFigures);
 
         //the sum of the figures which are on board and in check from enemy
-        double atMoveCheckSum = positionSum(board, atMoveFigures, notAtMovePosition);
-        double notAtMoveCheckSum = positionSum(board, atMoveFigures, atMovePosition);
+        int atMoveCheckSum = positionSum(board, atMoveFigures, notAtMovePosition);
+        int notAtMoveCheckSum = positionSum(board, atMoveFigures, atMovePosition);
 
         //the sum of the figures which are on board and are guarded by own
-        double atMoveGuardSum = positionSum(board, atMoveFigures, atMovePosition);
-        double notAtMoveGuardSum = positionSum(board, notAtMoveFigures, notAtMovePosition);
+        int atMoveGuardSum = positionSum(board, atMoveFigures, atMovePosition);
+        int notAtMoveGuardSum = positionSum(board, notAtMoveFigures, notAtMovePosition);
 
-        int figureRelations = (int) (atMoveGuardSum - atMoveCheckSum + notAtMoveCheckSum - notAtMoveGuardSum);
+        int figureRelations = atMoveGuardSum - atMoveCheckSum + notAtMoveCheckSum - notAtMoveGuardSum;
         eval += figureRelations;
-
-
-        //end game evaluation
-        RuleEvaluator.End end = RuleEvaluator.checkEndGame(game, player);
-
-        if (end == RuleEvaluator.End.WIN) {
-            eval += winBonus;
-        } else if (end == RuleEvaluator.End.DRAW) {
-            eval += drawMali;
-        }else {
-            //game has not ended, but could end if draw can be claimed
-            eval += RuleEvaluator.canClaimDraw(game) ? drawMali : 0;
-        }
         return eval;
     }
 
-    private double positionSum(FigureBoard board, List<Figure> atMoveFigures, List<Position> notAtMovePosition) {
-        return atMoveFigures.stream().filter(figure -> notAtMovePosition.contains(board.positionOf(figure))).mapToDouble(figure -> figure.getType().getWorth()).sum();
+    private int positionSum(FigureBoard board, List<Figure> atMoveFigures, List<Position> notAtMovePosition) {
+        int sum = 0;
+
+        for (Figure figure : atMoveFigures) {
+            if (notAtMovePosition.contains(board.positionOf(figure))) {
+                sum += figure.getType().getCentipawns();
+            }
+        }
+        return sum;
     }
 
     private List<Position> getAllPositions(FigureBoard board, List<Figure> atMoveFigures) {
@@ -181,38 +204,20 @@ class AlphaBetaEngine extends Engine {
     }
 
     private int getBenchWorthDiff(Color atMovePlayer) {
-        final double benchWorthDiff;
-
-        if (!game.getBench().isEmpty()) {
-            final Map<Color, Double> playerBenchWorth =
-                    game.getBench().
-                    entrySet().
-                    stream().
-                    collect(Collectors.toMap(Map.Entry::getKey, this::getSum));
-
-            final Double atMoveBenchWorthInt = playerBenchWorth.get(atMovePlayer);
-            final Double notAtMoveBenchWorthInt = playerBenchWorth.get(Color.getEnemy(game.getAtMove().getColor()));
-
-            final double atMoveBenchWorth = atMoveBenchWorthInt == null ? 0 : atMoveBenchWorthInt;
-            final double notAtMoveBenchWorth = notAtMoveBenchWorthInt == null ? 0 : notAtMoveBenchWorthInt;
-
-            benchWorthDiff = atMoveBenchWorth - notAtMoveBenchWorth;
-        } else {
-            benchWorthDiff = 0;
-        }
-        return (int) Math.round(benchWorthDiff);
-    }
-
-    private Double getSum(Map.Entry<Color, Map<FigureType, List<Figure>>> entry) {
-        return entry.getValue().values().stream().mapToDouble(list -> list.stream().mapToDouble(figure -> figure.getType().getWorth()).sum()).sum();
+        final Map<Color, Map<FigureType, List<Figure>>> bench = game.getBench();
+        return getSum(bench.get(atMovePlayer)) - getSum(bench.get(Color.getEnemy(atMovePlayer)));
     }
 
-    private int getFigureWorthDiff(List<Figure> atMoveFigures, List<Figure> notAtMoveFigures) {
-        double figureWorthDiff;
-        final Double atMoveFiguresWorth = atMoveFigures.stream().mapToDouble(figure -> figure.getType().getWorth()).sum();
-        final Double notAtMoveFiguresWorth = notAtMoveFigures.stream().mapToDouble(figure -> figure.getType().getWorth()).sum();
+    private int getSum(Map<FigureType, List<Figure>> figures) {
+        int sum = 0;
 
-        figureWorthDiff = atMoveFiguresWorth - notAtMoveFiguresWorth;
-        return (int) Math.round(figureWorthDiff);
+        if (figures != null) {
+            for (List<Figure> list : figures.values()) {
+                for (Figure figure : list) {
+                    sum += figure.getType().getCentipawns();
+                }
+            }
+        }
+        return sum;
     }
 }
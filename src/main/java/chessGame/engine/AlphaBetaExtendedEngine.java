@@ -4,44 +4,75 @@ import chessGame.mechanics.*;
 import chessGame.mechanics.board.FigureBoard;
 import chessGame.mechanics.game.ChessGame;
 import chessGame.mechanics.game.SimulationGame;
-import chessGame.mechanics.move.Move;
-import chessGame.mechanics.move.MoveForGenerator;
-import chessGame.mechanics.move.PlayerMove;
-import chessGame.mechanics.move.PositionGenerator;
+import chessGame.mechanics.move.*;
 import javafx.util.Duration;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
 /**
  *
  */
 public class AlphaBetaExtendedEngine extends Engine {
-    private PlayerMove best;
+    /**
+     * Maximum number of strikes the quiescent search follows after the nominal depth.
+     */
+    static final int MAX_QUIESCENT_DEPTH = 8;
+
+    //no search reaches a mate farther away than this, so scores this near to winBonus are mate scores
+    private static final int MAX_MATE_PLY = 1000;
+
+    //a strike, which can not lift the evaluation up to alpha even with this margin, is not searched in the quiescent search
+    private static final int DELTA_MARGIN = 2 * PAWN;
+
+    private int best;
     private int rating;
     private int alphaBetaCounter;
     private int quiescentCounter;
 
+    private final Evaluator evaluator;
+
     private TranspositionTable table = new TranspositionTable();
+    private final EvaluationCache evaluations = new EvaluationCache();
+    private MovePicker[] pickers = new MovePicker[0];
+    private int[][] killers = new int[0][2];
+    private final MoveList[] quiescentMoves = MoveList.perPly(MAX_QUIESCENT_DEPTH + 1);
     private int cutOffCounter;
 
     public List<Double> duration = new ArrayList<>();
     public List<Double> cutOffRates = new ArrayList<>();
 
     AlphaBetaExtendedEngine(ChessGame game, Player player, int maxDepth) {
+        this(game, player, maxDepth, new GuardEvaluator());
+    }
+
+    AlphaBetaExtendedEngine(ChessGame game, Player player, int maxDepth, Evaluator evaluator) {
         super(game, player, maxDepth);
+        this.evaluator = Objects.requireNonNull(evaluator);
     }
 
     @Override
     PlayerMove getChoice() {
         long nanoTime = System.nanoTime();
         table.resetUsage();
-        best = null;
+        best = PackedMove.NONE;
+
+        if (pickers.length <= maxDepth) {
+            pickers = new MovePicker[maxDepth + 1];
+
+            for (int ply = 0; ply < pickers.length; ply++) {
+                pickers[ply] = new MovePicker();
+            }
+            killers = new int[maxDepth + 1][2];
+        }
+
+        for (int[] plyKillers : killers) {
+            plyKillers[0] = PackedMove.NONE;
+            plyKillers[1] = PackedMove.NONE;
+        }
 
         final List<PlayerMove> allowedMoves = game.getAllowedMoves();
 
@@ -59,12 +90,12 @@ public class AlphaBetaExtendedEngine extends Engine {
 
         printInfo(rating, seconds);
 
-        return best == null ? chooseMove(allowedMoves) : best;
+        return best == PackedMove.NONE ? chooseMove(allowedMoves) : PackedMove.decode(best);
     }
 
     private void printInfo(int rating, double seconds) {
-        System.out.println("Rating " + rating + " for " + best);
-        if (best == null) {
+        System.out.println("Rating " + rating + " for " + PackedMove.toString(best));
+        if (best == PackedMove.NONE) {
             System.out.println("failed?");
         }
         System.out.println("Cut off " + cutOffCounter);
@@ -80,6 +111,8 @@ public class AlphaBetaExtendedEngine extends Engine {
         quiescentCounter = 0;
         cutOffCounter = 0;
         table.printInfo();
+        evaluations.printInfo();
+        evaluator.printInfo();
     }
 
     private void iterativeDeepening(SimulationGame game, int maxDepth) {
@@ -92,34 +125,43 @@ public class AlphaBetaExtendedEngine extends Engine {
         alphaBetaCounter++;
         game.getBoard();
 
+        final int ply = maxDepth - depth;
+
+        if (ply > 0 && isDrawByRule(game)) {
+            return drawScore(game.getAtMoveColor());
+        }
+
         if (depth == 0) {
-//            PlayerMove lastMove = game.getLastMove();
-//            return lastMove != null && lastMove.isStrike() ? quiescentSearch(game, alpha, beta) : evaluate(game);
-            return evaluate(game);
+            return quiescentSearch(game, ply, MAX_QUIESCENT_DEPTH, alpha, beta);
         }
 
-        final List<PlayerMove> moves = new ArrayList<>(MoveForGenerator.getAllowedMoves(game.getAtMoveColor(), game));
+        final MovePicker picker = pickers[ply];
+        picker.init(game, PackedMove.NONE, killers[ply][0], killers[ply][1]);
 
-        if (moves.isEmpty()) {
-            return evaluate(game);
-        }
+        int move = picker.next();
 
-        //sort the moves after the values of their figures
-        moves.sort(Comparator.comparingDouble(this::worth).reversed());
+        if (move == PackedMove.NONE) {
+            return terminalScore(game, ply);
+        }
 
         int max = alpha;
-        for (PlayerMove move : moves) {
-            game.setAllowedMoves(moves);
+        int searched = 0;
+        for (; move != PackedMove.NONE; move = picker.next()) {
+            if (isFutileLoss(picker, depth, searched)) {
+                break;
+            }
+            searched++;
             game.makeMove(move);
 
             int worth = -alphaBeta(game, maxDepth, depth - 1, negate(beta), negate(max));
-            game.singlePlyRedo();
+            game.unmakeMove(move);
 
             if (worth > max) {
                 max = worth;
 
                 if (max >= beta) {
                     cutOffCounter++;
+                    storeKiller(ply, move);
                     break;
                 }
                 if (depth == maxDepth) {
@@ -137,57 +179,69 @@ public class AlphaBetaExtendedEngine extends Engine {
         FigureBoard board = game.getBoard();
         int originalAlpha = alpha;
 
+        //draws depend on the way to the position, so they are decided before the table is asked
+        final int ply = maxDepth - depth;
+
+        if (ply > 0 && isDrawByRule(game)) {
+            return drawScore(game.getAtMoveColor());
+        }
+
         Entry entry = table.getEntry(board);
 
         if (entry != null) {
             if (entry.getDepth() >= depth) {
+                final int evaluation = fromTableScore(entry.getEvaluation(), ply);
+
                 if (entry.getBound() == Entry.Bound.EXACT) {
                     if (maxDepth == depth) {
                         best = entry.getBestMove();
                     }
-                    return entry.getEvaluation();
+                    return evaluation;
 
                 } else if (entry.getBound() == Entry.Bound.LOWER) {
-                    alpha = Math.max(alpha, entry.getEvaluation());
+                    alpha = Math.max(alpha, evaluation);
 
                 } else if (entry.getBound() == Entry.Bound.UPPER) {
-                    beta = Math.min(beta, entry.getEvaluation());
+                    beta = Math.min(beta, evaluation);
                 }
 
-                if (alpha > beta) {
+                if (alpha >= beta) {
                     if (maxDepth == depth) {
                         best = entry.getBestMove();
                     }
-                    return entry.getEvaluation();
+                    return evaluation;
                 }
             }
         }
 
         if (depth == 0) {
-//            PlayerMove lastMove = game.getLastMove();
-//            return lastMove != null && lastMove.isStrike() ? quiescentSearch(game, alpha, beta) : evaluate(game);
-            return evaluate(game);
+            return quiescentSearch(game, ply, MAX_QUIESCENT_DEPTH, alpha, beta);
         }
 
-        final List<PlayerMove> moves = new ArrayList<>(MoveForGenerator.getAllowedMoves(game.getAtMoveColor(), game));
+        //the best move of the entry first, the other moves are only generated if it does not cut off
+        final MovePicker picker = pickers[ply];
+        picker.init(game, entry == null ? PackedMove.NONE : entry.getBestMove(), killers[ply][0], killers[ply][1]);
 
-        if (moves.isEmpty()) {
-            return evaluate(game);
-        }
+        int move = picker.next();
 
-        //sort the moves after the values of their figures
-        moves.sort(Comparator.comparingDouble(this::worth).reversed());
-        sortMove(entry, moves);
+        //no legal move is mate or stalemate
+        if (move == PackedMove.NONE) {
+            return terminalScore(game, ply);
+        }
 
-        PlayerMove bestMove = null;
+        int bestMove = PackedMove.NONE;
 
         int max = alpha;
-        for (PlayerMove move : moves) {
-            game.setAllowedMoves(moves);
+        int searched = 0;
+        for (; move != PackedMove.NONE; move = picker.next()) {
+            if (isFutileLoss(picker, depth, searched)) {
+                break;
+            }
+            searched++;
             game.makeMove(move);
 
             int worth = -alphaBetaTransPosition(game, maxDepth, depth - 1, negate(beta), negate(max));
-            game.singlePlyRedo();
+            game.unmakeMove(move);
 
             if (worth > max) {
                 max = worth;
@@ -195,6 +249,7 @@ public class AlphaBetaExtendedEngine extends Engine {
 
                 if (max >= beta) {
                     cutOffCounter++;
+                    storeKiller(ply, move);
                     break;
                 }
 
@@ -204,29 +259,41 @@ public class AlphaBetaExtendedEngine extends Engine {
                 }
             }
         }
-        storeEntry(depth, beta, board, originalAlpha, bestMove, max);
+        storeEntry(depth, ply, beta, board, originalAlpha, bestMove, max);
         return max;
     }
 
-    private void sortMove(Entry entry, List<PlayerMove> moves) {
-        if (entry != null) {
-            PlayerMove bestMove = entry.getBestMove();
-            if (bestMove == null) {
-                return;
-            }
+    /**
+     * Checks if the last move of the picker is a strike losing material, which is not worth searching.
+     * One ply before the quiescent search only strikes can follow, which the static exchange already took into account.
+     * Losing strikes are the last moves of the picker, so all following moves are futile as well.
+     * The first move of a node is always searched, so that a node with legal moves is never taken as ended.
+     *
+     * @param picker   picker, which returned the move last
+     * @param depth    remaining depth of the node
+     * @param searched number of moves already searched in the node
+     * @return true if the move and all following moves may be skipped
+     */
+    private boolean isFutileLoss(MovePicker picker, int depth, int searched) {
+        return depth == 1 && searched > 0 && picker.isLosingStrike();
+    }
 
-            if (moves.contains(bestMove)) {
-                //remove bestMove
-                moves.remove(bestMove);
-                //to insert it as first item to examine
-                moves.add(0, bestMove);
-            } else {
-                System.out.println();
-            }
+    /**
+     * Remembers a quiet move, which caused a cut off, to be tried early in the sibling nodes of the same ply.
+     *
+     * @param ply  ply of the node
+     * @param move move which caused the cut off
+     */
+    private void storeKiller(int ply, int move) {
+        final int[] plyKillers = killers[ply];
+
+        if (!PackedMove.isCapture(move) && plyKillers[0] != move) {
+            plyKillers[1] = plyKillers[0];
+            plyKillers[0] = move;
         }
     }
 
-    private void storeEntry(int depth, int beta, FigureBoard board, int originalAlpha, PlayerMove bestMove, int max) {
+    private void storeEntry(int depth, int ply, int beta, FigureBoard board, int originalAlpha, int bestMove, int max) {
         long hash = board.getHash();
 
         Entry.Bound bound;
@@ -237,35 +304,146 @@ public class AlphaBetaExtendedEngine extends Engine {
         } else {
             bound = Entry.Bound.EXACT;
         }
-        Entry newEntry = new Entry(hash, max, bestMove, depth, bound);
+        Entry newEntry = new Entry(hash, toTableScore(max, ply), bestMove, depth, bound);
         table.add(newEntry);
     }
 
-    private int quiescentSearch(SimulationGame game, int alpha, int beta) {
+    /**
+     * Converts a score of the search into a score of the table.
+     * Mate scores of the search count the plies from the root, but the same position may be reached
+     * at another ply later on. In the table they count the plies from the stored position instead.
+     *
+     * @param score score in point of view of the player at move
+     * @param ply   distance of the position to the root of the search
+     * @return the score to store
+     */
+    private int toTableScore(int score, int ply) {
+        if (isWinScore(score)) {
+            return score + ply;
+        } else if (isWinScore(negate(score))) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    /**
+     * Reverses {@link #toTableScore(int, int)} for a position reached at the given ply.
+     *
+     * @param score score from the table
+     * @param ply   distance of the position to the root of the search
+     * @return the score for the search
+     */
+    private int fromTableScore(int score, int ply) {
+        if (isWinScore(score)) {
+            return score - ply;
+        } else if (isWinScore(negate(score))) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    //scores of a mate at most MAX_MATE_PLY plies away, the bounds of the search window are no mate scores
+    private boolean isWinScore(int score) {
+        return score <= winBonus && score >= winBonus - MAX_MATE_PLY;
+    }
+
+    /**
+     * Searches only strikes after the nominal depth, until the position is quiet, so that the evaluation
+     * is not taken in the middle of an exchange.
+     * <ul>
+     * <li>stand pat: the player at move does not need to strike, so the evaluation is a lower bound</li>
+     * <li>in check there is no stand pat, all legal moves are searched and a mate is recognized</li>
+     * <li>strikes losing material by the static exchange are not searched</li>
+     * <li>delta pruning: strikes, which can not lift the evaluation up to alpha, are not searched</li>
+     * <li>at most {@link #MAX_QUIESCENT_DEPTH} moves are followed</li>
+     * </ul>
+     *
+     * @param game           game with the position
+     * @param ply            distance of the position to the root of the search
+     * @param quiescentDepth number of moves, which may still be followed
+     * @param alpha          lower bound of the search window
+     * @param beta           upper bound of the search window
+     * @return evaluation of the position in point of view of the player at move
+     */
+    private int quiescentSearch(SimulationGame game, int ply, int quiescentDepth, int alpha, int beta) {
         quiescentCounter++;
-        game.getBoard();
 
-        if (!game.getLastMove().isStrike()) {
-            return evaluate(game);
+        final FigureBoard board = game.getBoard();
+        final Color atMove = game.getAtMoveColor();
+        final MoveList moves = quiescentMoves[quiescentDepth];
+
+        //a player in check can not stand pat, the check has to be answered by any legal move
+        if (AttackDetector.isInCheck(board, atMove)) {
+            MoveForGenerator.getAllowedMoves(atMove, game, moves);
+
+            if (moves.isEmpty()) {
+                return terminalScore(game, ply);
+            }
+            if (quiescentDepth == 0) {
+                return evaluate(game);
+            }
+
+            for (int index = 0; index < moves.size(); index++) {
+                final int move = moves.get(index);
+
+                if (PackedMove.isCapture(move)) {
+                    moves.setScore(index, strikeOrder(move));
+                }
+            }
+            return searchQuiescentMoves(game, moves, ply, quiescentDepth, alpha, beta);
         }
 
-        final List<PlayerMove> moves = new ArrayList<>(MoveForGenerator.getStrikes(game, game.getAtMoveColor()));
+        final int standPat = evaluate(game);
 
-        if (moves.isEmpty()) {
-            return evaluate(game);
+        if (standPat >= beta || quiescentDepth == 0) {
+            return standPat;
         }
 
-        //sort the moves after the values of their figures
-        moves.sort(Comparator.comparingDouble(this::strikeWorth).reversed());
+        final int max = Math.max(alpha, standPat);
+
+        MoveForGenerator.getStrikes(game, atMove, moves);
+
+        for (int index = 0; index < moves.size(); ) {
+            final int move = moves.get(index);
+            final int gain = strikeGain(move);
 
+            //striking a figure worth at least the attacker can not lose material
+            final boolean losing = PackedMove.getPiece(move).getCentipawns() > PackedMove.getCaptured(move).getCentipawns()
+                    && AttackDetector.staticExchange(board, move) < 0;
+
+            //a promotion to another figure than a queen gains less, the promotion to a queen is searched instead
+            final FigureType promotion = PackedMove.getPromotion(move);
+            final boolean underPromotion = promotion != null && promotion != FigureType.QUEEN;
+
+            if (losing || underPromotion || standPat + gain + DELTA_MARGIN <= max) {
+                moves.remove(index);
+            } else {
+                moves.setScore(index++, strikeOrder(move));
+            }
+        }
+        return searchQuiescentMoves(game, moves, ply, quiescentDepth, max, beta);
+    }
+
+    /**
+     * Searches the given moves of the quiescent search, ordered by their scores.
+     *
+     * @param game           game with the position
+     * @param moves          moves to search, with scores to order them
+     * @param ply            distance of the position to the root of the search
+     * @param quiescentDepth number of moves, which may still be followed
+     * @param alpha          lower bound of the search window, which the moves have to exceed
+     * @param beta           upper bound of the search window
+     * @return the best evaluation of the moves or alpha, in point of view of the player at move
+     */
+    private int searchQuiescentMoves(SimulationGame game, MoveList moves, int ply, int quiescentDepth, int alpha, int beta) {
         int max = alpha;
-        for (PlayerMove move : moves) {
 
-            game.setAllowedMoves(moves);
+        for (int index = 0; index < moves.size(); index++) {
+            final int move = moves.pickNext(index);
             game.makeMove(move);
 
-            int worth = -quiescentSearch(game, negate(beta), negate(max));
-            game.singlePlyRedo();
+            int worth = -quiescentSearch(game, ply + 1, quiescentDepth - 1, negate(beta), negate(max));
+            game.unmakeMove(move);
 
             if (worth > max) {
                 max = worth;
@@ -278,6 +456,27 @@ public class AlphaBetaExtendedEngine extends Engine {
         return max;
     }
 
+    //most valuable victim first, the least valuable attacker breaks ties
+    private int strikeOrder(int move) {
+        return strikeGain(move) * 10 - PackedMove.getPiece(move).getCentipawns();
+    }
+
+    /**
+     * Material a strike takes at most, the struck figure and the gain of a promotion, in centipawns.
+     *
+     * @param move strike packed by {@link PackedMove}
+     * @return the largest gain of the strike
+     */
+    private int strikeGain(int move) {
+        int gain = PackedMove.getCaptured(move).getCentipawns();
+
+        final FigureType promotion = PackedMove.getPromotion(move);
+        if (promotion != null) {
+            gain += promotion.getCentipawns() - FigureType.PAWN.getCentipawns();
+        }
+        return gain;
+    }
+
     /**
      * Returns the negated Integer of the Parameter.
      * Treats the negate of {@link Integer#MIN_VALUE} as
@@ -292,144 +491,22 @@ public class AlphaBetaExtendedEngine extends Engine {
 
 
     /**
-     * @param playerMove
-     * @return
-     */
-    private double worth(PlayerMove playerMove) {
-        final Move mainMove = playerMove.getMainMove();
-        double worth = mainMove.getFigure().getWorth();
-
-        final Double secondaryWorth = playerMove.getSecondaryMove().map(move -> move.getFigure().getWorth()).orElse(0d);
-        worth = worth + secondaryWorth * 10;
-
-        final Double promotionWorth = playerMove.getPromotionMove().map(move -> move.getFigure().getWorth()).orElse(0d);
-        worth += promotionWorth;
-
-        return worth;
-    }
-
-
-    /**
-     * Worth of the the Strike.
-     *
-     * @param playerMove
-     * @return
-     */
-    private double strikeWorth(PlayerMove playerMove) {
-        final Double secondaryWorth = playerMove.getSecondaryMove().map(move -> move.getFigure().getWorth()).orElse(0d);
-
-        if (secondaryWorth == 0) {
-            return 0;
-        }
-
-        final Move mainMove = playerMove.getMainMove();
-        double worth = mainMove.getFigure().getWorth();
-        worth = 1 / worth;
-
-        worth += secondaryWorth;
-
-        final Double promotionWorth = playerMove.getPromotionMove().map(move -> move.getFigure().getWorth()).orElse(0d);
-        worth += promotionWorth;
-
-        return worth;
-    }
-
-    /**
-     * Evaluates the Board<Figure> according to the sum of the player figures worth, subtracting the worth
-     * of their figures on the bench.
-     * A Board<Figure> which evaluates to a Draw will be subtracted 500 points, if it evaluates to a Win
-     * 2000 points will be added.
+     * Evaluates the Board<Figure> with the {@link Evaluator} of this engine, in centipawns.
+     * Ended games are recognized by the search, which finds no legal moves or a draw by rule,
+     * so the evaluation depends only on the position and is remembered in the {@link EvaluationCache}.
      *
      * @param game game with board to evaluate
      * @return board evaluation in point of view of the drawing/moving player
      */
     private int evaluate(SimulationGame game) {
-        FigureBoard board = game.getBoard();
-
-        Map<Color, List<Figure>> playerFigures = board.getPlayerFigures();
-
-        Color atMoveColor = game.getAtMoveColor();
-        Color enemy = Color.getEnemy(atMoveColor);
-
-        List<Figure> atMoveFigures = playerFigures.get(atMoveColor);
-        List<Figure> notAtMoveFigures = playerFigures.get(enemy);
-
-        final int figureWorthDiff = getFigureWorthDiff(atMoveFigures, notAtMoveFigures);
-        final int benchWorthDiff = getBenchWorthDiff(atMoveColor, enemy);
-        int eval = figureWorthDiff + benchWorthDiff;
+        final FigureBoard board = game.getBoard();
+        final long hash = board.getHash();
+        int eval = evaluations.get(hash);
 
-        List<Position> atMovePosition = getAllPositions(board, atMoveFigures);
-        List<Position> notAtMovePosition = getAllPositions(board, notAtMoveFigures);
-
-        //the sum of the figures which are on board and in check from enemy
-        double atMoveCheckSum = positionSum(board, atMoveFigures, notAtMovePosition);
-        double notAtMoveCheckSum = positionSum(board, notAtMoveFigures, atMovePosition);
-
-        //the sum of the figures which are on board and are guarded by own
-        double atMoveGuardSum = positionSum(board, atMoveFigures, atMovePosition);
-        double notAtMoveGuardSum = positionSum(board, notAtMoveFigures, notAtMovePosition);
-
-        int figureRelations = (int) (atMoveGuardSum - atMoveCheckSum + notAtMoveCheckSum - notAtMoveGuardSum);
-        eval += figureRelations;
-
-
-        //end game evaluation
-        RuleEvaluator.End end = RuleEvaluator.checkEndGame(game, atMoveColor);
-
-        if (end == RuleEvaluator.End.WIN) {
-            eval += winBonus;
-        } else if (end == RuleEvaluator.End.DRAW) {
-            eval += drawMali;
-        } else if (end == RuleEvaluator.End.LOSS) {
-            eval -= winBonus;
-        } else {
-            //game has not ended, but could end if draw can be claimed
-            eval += RuleEvaluator.canClaimDraw(game) ? drawMali : 0;
+        if (eval == EvaluationCache.MISSING) {
+            eval = evaluator.evaluate(board, game.getAtMoveColor());
+            evaluations.put(hash, eval);
         }
         return eval;
     }
-
-    private double positionSum(FigureBoard board, List<Figure> atMoveFigures, List<Position> notAtMovePosition) {
-        return atMoveFigures.stream().filter(figure -> notAtMovePosition.contains(board.positionOf(figure))).mapToDouble(figure -> figure.getType().getWorth()).sum();
-    }
-
-    private List<Position> getAllPositions(FigureBoard board, List<Figure> atMoveFigures) {
-        return atMoveFigures.stream().flatMap(figure -> PositionGenerator.getPositions(figure, board).stream()).collect(Collectors.toList());
-    }
-
-    private int getBenchWorthDiff(Color atMovePlayer, Color enemy) {
-        final double benchWorthDiff;
-
-        if (!game.getBench().isEmpty()) {
-            final Map<Color, Double> playerBenchWorth = game.
-                    getBench().
-                    entrySet().
-                    stream().
-                    collect(Collectors.toMap(Map.Entry::getKey, this::getSum));
-
-            final Double atMoveBenchWorthInt = playerBenchWorth.get(atMovePlayer);
-            final Double notAtMoveBenchWorthInt = playerBenchWorth.get(enemy);
-
-            final double atMoveBenchWorth = atMoveBenchWorthInt == null ? 0 : atMoveBenchWorthInt;
-            final double notAtMoveBenchWorth = notAtMoveBenchWorthInt == null ? 0 : notAtMoveBenchWorthInt;
-
-            benchWorthDiff = atMoveBenchWorth - notAtMoveBenchWorth;
-        } else {
-            benchWorthDiff = 0;
-        }
-        return (int) Math.round(benchWorthDiff);
-    }
-
-    private Double getSum(Map.Entry<Color, Map<FigureType, List<Figure>>> entry) {
-        return entry.getValue().values().stream().mapToDouble(list -> list.stream().mapToDouble(figure -> figure.getType().getWorth()).sum()).sum();
-    }
-
-    private int getFigureWorthDiff(List<Figure> atMoveFigures, List<Figure> notAtMoveFigures) {
-        double figureWorthDiff;
-        final Double atMoveFiguresWorth = atMoveFigures.stream().mapToDouble(figure -> figure.getType().getWorth()).sum();
-        final Double notAtMoveFiguresWorth = notAtMoveFigures.stream().mapToDouble(figure -> figure.getType().getWorth()).sum();
-
-        figureWorthDiff = atMoveFiguresWorth - notAtMoveFiguresWorth;
-        return (int) Math.round(figureWorthDiff);
-    }
 }
@@ -3,36 +3,41 @@ package chessGame.engine;
 import chessGame.mechanics.Player;
 import chessGame.mechanics.game.ChessGame;
 
+import java.util.function.Supplier;
+
 /**
  *
  */
 public enum Difficulty {
-    ROOKIE(((game, player, depth1) -> new RookieEngine(game, player)), 0),
+    ROOKIE(((game, player, depth1, evaluator) -> new RookieEngine(game, player)), 0, null),
 
-    EASY(AlphaBetaExtendedEngine::new, 2),
+    EASY(AlphaBetaExtendedEngine::new, 2, GuardEvaluator::new),
 
-    INTERMEDIATE(AlphaBetaExtendedEngine::new, 4),
+    INTERMEDIATE(AlphaBetaExtendedEngine::new, 4, TaperedEvaluator::new),
 
-    HARD(AlphaBetaExtendedEngine::new, 6),
+    HARD(AlphaBetaExtendedEngine::new, 6, TaperedEvaluator::new),
 
-    PROFESSIONAL(AlphaBetaEngine::new, 8),
+    PROFESSIONAL(((game, player, depth, evaluator) -> new AlphaBetaEngine(game, player, depth)), 8, null),
 
-    KOREAN(AlphaBetaEngine::new, 10),;
+    KOREAN(((game, player, depth, evaluator) -> new AlphaBetaEngine(game, player, depth)), 10, null),;
 
     private final EngineSupplier supplier;
     private final int depth;
+    //null for engines, which rate positions on their own
+    private final Supplier<Evaluator> evaluator;
 
-    Difficulty(EngineSupplier supplier, int depth) {
+    Difficulty(EngineSupplier supplier, int depth, Supplier<Evaluator> evaluator) {
         this.supplier = supplier;
         this.depth = depth;
+        this.evaluator = evaluator;
     }
 
     Engine getEngine(ChessGame game, Player player) {
-        return supplier.getEngine(game, player, depth);
+        return supplier.getEngine(game, player, depth, evaluator == null ? null : evaluator.get());
     }
 
     private interface EngineSupplier {
-        Engine getEngine(ChessGame game, Player player, int depth);
+        Engine getEngine(ChessGame game, Player player, int depth, Evaluator evaluator);
     }
 
 }
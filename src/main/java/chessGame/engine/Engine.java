@@ -1,7 +1,10 @@
 package chessGame.engine;
 
 import chessGame.mechanics.*;
+import chessGame.mechanics.board.FigureBoard;
 import chessGame.mechanics.game.ChessGame;
+import chessGame.mechanics.game.Game;
+import chessGame.mechanics.move.AttackDetector;
 import chessGame.mechanics.move.PlayerMove;
 import javafx.application.Platform;
 import javafx.concurrent.Service;
@@ -20,8 +23,13 @@ public abstract class Engine extends Service<PlayerMove> {
     final Player player;
     int maxDepth;
 
-    final int drawMali = -500;
-    final int winBonus = 2000;
+    /**
+     * Centipawns per pawn, all evaluations are given in centipawns.
+     */
+    static final int PAWN = 100;
+
+    final int drawMali = -500 * PAWN;
+    final int winBonus = 2000 * PAWN;
 
     private final Random random = new Random();
 
@@ -110,5 +118,48 @@ public abstract class Engine extends Service<PlayerMove> {
     PlayerMove chooseMove(List<PlayerMove> moves) {
         return moves.isEmpty() ? null : moves.get(random.nextInt(moves.size()));
     }
-}
 
+    /**
+     * Rates a position, in which the player at move has no legal moves.
+     * A mate is worse than every evaluation of the figures, a nearer mate is worse than a farther one,
+     * so that a winning search takes the shortest way. A stalemate is a draw.
+     * Decided by a single check test, so the search does not need {@link RuleEvaluator#checkEndGame(Game, Color)}.
+     *
+     * @param game game with the position
+     * @param ply  distance of the position to the root of the search
+     * @return score in point of view of the player at move
+     */
+    int terminalScore(Game game, int ply) {
+        final Color atMove = game.getAtMoveColor();
+        return AttackDetector.isInCheck(game.getBoard(), atMove) ? -winBonus + ply : drawScore(atMove);
+    }
+
+    /**
+     * Checks for draws, which a player could claim or which are forced by the figures left,
+     * from the counters of the game instead of its {@link chessGame.mechanics.move.MoveHistory}.
+     *
+     * @param game game with the position
+     * @return true if the position is a draw by the fifty-move rule, a repetition or insufficient material
+     */
+    boolean isDrawByRule(Game game) {
+        return game.getHalfMoveClock() >= 100 || game.isRepetition() || isInsufficientMaterial(game.getBoard());
+    }
+
+    /**
+     * A draw is worse than most positions for this engine, {@link #drawMali} is subtracted from its point of view.
+     * For the enemy it is the other way around, to keep the scores of both players negations of each other.
+     *
+     * @param atMove color of the player at move
+     * @return score of a draw in point of view of the player at move
+     */
+    int drawScore(Color atMove) {
+        return atMove == player.getColor() ? drawMali : -drawMali;
+    }
+
+    //kings with at most one bishop or knight in total can not mate
+    private boolean isInsufficientMaterial(FigureBoard board) {
+        return board.getPhase() <= 1
+                && board.getPieces(Color.WHITE, FigureType.PAWN) == 0
+                && board.getPieces(Color.BLACK, FigureType.PAWN) == 0;
+    }
+}
@@ -1,20 +1,18 @@
 package chessGame.engine;
 
-import chessGame.mechanics.move.PlayerMove;
-
 /**
  *
  */
 class Entry {
     private long hashKey;
     private int evaluation;
-    private PlayerMove bestMove;
+    private int bestMove;
     private int depth;
     private int age;
     private boolean used;
     private Bound bound;
 
-    Entry(long hashKey, int evaluation, PlayerMove bestMove, int depth, Bound bound) {
+    Entry(long hashKey, int evaluation, int bestMove, int depth, Bound bound) {
         this.hashKey = hashKey;
         this.evaluation = evaluation;
         this.bestMove = bestMove;
@@ -38,7 +36,10 @@ class Entry {
         return evaluation;
     }
 
-    PlayerMove getBestMove() {
+    /**
+     * @return the best move packed by {@link chessGame.mechanics.move.PackedMove}
+     */
+    int getBestMove() {
         return bestMove;
     }
 
@@ -0,0 +1,77 @@
+package chessGame.engine;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/**
+ * Lossy memory for the evaluations of positions, keyed by their Zobrist hash.
+ * <p>
+ * Every entry is a single long, the upper half holds the upper half of the hash, the lower half the score.
+ * The lower bits of the hash select the slot, a new entry always replaces the old one.
+ * Empty slots hold the score {@link #MISSING}, which no evaluation has, so all 32 key bits stay part of the key.
+ */
+class EvaluationCache {
+    /**
+     * Returned by {@link #get(long)} for positions without entry.
+     */
+    static final int MISSING = Integer.MIN_VALUE;
+
+    private static final long KEY_MASK = 0xFFFFFFFF00000000L;
+    private static final long EMPTY = MISSING & 0xFFFFFFFFL;
+
+    private final long[] entries;
+    private final int mask;
+
+    private long hits;
+    private long misses;
+
+    EvaluationCache() {
+        this(1 << 18);
+    }
+
+    /**
+     * @param size number of entries, rounded down to a power of two
+     */
+    EvaluationCache(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size of cache needs to be positive: " + size);
+        }
+        entries = new long[Integer.highestOneBit(size)];
+        mask = entries.length - 1;
+        Arrays.fill(entries, EMPTY);
+    }
+
+    /**
+     * @param hash Zobrist hash of the position
+     * @return the evaluation of the position, or {@link #MISSING} if it is not known
+     */
+    int get(long hash) {
+        final long entry = entries[(int) hash & mask];
+        final int score = (int) entry;
+
+        if ((entry & KEY_MASK) != (hash & KEY_MASK) || score == MISSING) {
+            misses++;
+            return MISSING;
+        }
+        hits++;
+        return score;
+    }
+
+    void put(long hash, int score) {
+        entries[(int) hash & mask] = (hash & KEY_MASK) | (score & 0xFFFFFFFFL);
+    }
+
+    void printInfo() {
+        final long requests = hits + misses;
+
+        System.out.println("Evaluation Hits: " + hits);
+        System.out.println("Evaluation Misses: " + misses);
+
+        if (requests > 0) {
+            System.out.println("Evaluation Hit Rate: " + BigDecimal.valueOf(hits).multiply(BigDecimal.valueOf(100)).divide(BigDecimal.valueOf(requests), 1, RoundingMode.HALF_EVEN));
+        }
+        hits = 0;
+        misses = 0;
+    }
+}
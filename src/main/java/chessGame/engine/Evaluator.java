@@ -0,0 +1,24 @@
+package chessGame.engine;
+
+import chessGame.mechanics.Color;
+import chessGame.mechanics.board.FigureBoard;
+
+/**
+ * Static evaluation of a board at the leaves of a search.
+ * It rates only the figures on the board, the end of the game is decided by the engine.
+ */
+interface Evaluator {
+
+    /**
+     * @param board  board to evaluate
+     * @param player player to evaluate the board for
+     * @return the evaluation in centipawns from the point of view of the player, positive if the player stands better
+     */
+    int evaluate(FigureBoard board, Color player);
+
+    /**
+     * Prints statistics of the evaluation since the last call.
+     */
+    default void printInfo() {
+    }
+}
@@ -0,0 +1,59 @@
+package chessGame.engine;
+
+import chessGame.mechanics.Color;
+import chessGame.mechanics.Figure;
+import chessGame.mechanics.Position;
+import chessGame.mechanics.board.FigureBoard;
+import chessGame.mechanics.move.PositionGenerator;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Evaluates the material and the piece-square bonuses of the middle game, and rewards figures
+ * which are guarded by own figures, while punishing those which are attacked by enemy figures.
+ * <p>
+ * The guard relations need the reachable positions of all figures, which makes it much slower
+ * than the {@link TaperedEvaluator}.
+ */
+class GuardEvaluator implements Evaluator {
+    @Override
+    public int evaluate(FigureBoard board, Color player) {
+        final Color enemy = Color.getEnemy(player);
+
+        int eval = board.getMaterial(player) - board.getMaterial(enemy)
+                + board.getPieceSquareScore(player) - board.getPieceSquareScore(enemy);
+
+        List<Figure> atMoveFigures = board.getFigures(player);
+        List<Figure> notAtMoveFigures = board.getFigures(enemy);
+
+        List<Position> atMovePosition = getAllPositions(board, atMoveFigures);
+        List<Position> notAtMovePosition = getAllPositions(board, notAtMoveFigures);
+
+        //the sum of the figures which are on board and in check from enemy
+        int atMoveCheckSum = positionSum(board, atMoveFigures, notAtMovePosition);
+        int notAtMoveCheckSum = positionSum(board, notAtMoveFigures, atMovePosition);
+
+        //the sum of the figures which are on board and are guarded by own
+        int atMoveGuardSum = positionSum(board, atMoveFigures, atMovePosition);
+        int notAtMoveGuardSum = positionSum(board, notAtMoveFigures, notAtMovePosition);
+
+        eval += atMoveGuardSum - atMoveCheckSum + notAtMoveCheckSum - notAtMoveGuardSum;
+        return eval;
+    }
+
+    private int positionSum(FigureBoard board, List<Figure> atMoveFigures, List<Position> notAtMovePosition) {
+        int sum = 0;
+
+        for (Figure figure : atMoveFigures) {
+            if (notAtMovePosition.contains(board.positionOf(figure))) {
+                sum += figure.getType().getCentipawns();
+            }
+        }
+        return sum;
+    }
+
+    private List<Position> getAllPositions(FigureBoard board, List<Figure> atMoveFigures) {
+        return atMoveFigures.stream().flatMap(figure -> PositionGenerator.getPositions(figure, board).stream()).collect(Collectors.toList());
+    }
+}
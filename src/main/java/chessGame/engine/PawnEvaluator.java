@@ -0,0 +1,141 @@
+package chessGame.engine;
+
+import chessGame.mechanics.Color;
+import chessGame.mechanics.FigureType;
+import chessGame.mechanics.board.FigureBoard;
+import chessGame.mechanics.board.PieceSquareTable;
+import chessGame.mechanics.move.LeaperAttacks;
+
+/**
+ * Evaluates the pawn structure: passed, doubled, isolated and backward pawns.
+ * <p>
+ * The structure depends only on the pawns, so its score is remembered in a {@link PawnHashTable}
+ * under the pawn hash of the board and computed only for structures, which were not seen before.
+ * Scores are computed for white and negated for black.
+ */
+class PawnEvaluator {
+    private static final long COLUMN_A = 0x0101010101010101L;
+
+    private static final int DOUBLED_MIDDLE_GAME = -10;
+    private static final int DOUBLED_END_GAME = -20;
+    private static final int ISOLATED_MIDDLE_GAME = -15;
+    private static final int ISOLATED_END_GAME = -20;
+    private static final int BACKWARD_MIDDLE_GAME = -10;
+    private static final int BACKWARD_END_GAME = -10;
+
+    //indexed by the row of the passed pawn, counted from the back row of its player
+    private static final int[] PASSED_MIDDLE_GAME = {0, 5, 10, 15, 25, 40, 60, 0};
+    private static final int[] PASSED_END_GAME = {0, 10, 20, 35, 60, 100, 150, 0};
+
+    private static final long[] columns = new long[8];
+    private static final long[] adjacentColumns = new long[8];
+
+    //panels, which need to be free of enemy pawns for a passed pawn
+    private static final long[] whitePassedMasks = new long[64];
+    private static final long[] blackPassedMasks = new long[64];
+
+    //panels of own pawns, which can support the pawn now or after advancing
+    private static final long[] whiteSupportMasks = new long[64];
+    private static final long[] blackSupportMasks = new long[64];
+
+    static {
+        for (int column = 0; column < 8; column++) {
+            columns[column] = COLUMN_A << column;
+        }
+
+        for (int column = 0; column < 8; column++) {
+            adjacentColumns[column] = (column > 0 ? columns[column - 1] : 0) | (column < 7 ? columns[column + 1] : 0);
+        }
+
+        for (int panel = 0; panel < 64; panel++) {
+            final int row = panel / 8;
+            final int column = panel % 8;
+
+            final long rowsAbove = row == 7 ? 0 : -1L << (row + 1) * 8;
+            final long rowsBelow = (1L << row * 8) - 1;
+            final long span = columns[column] | adjacentColumns[column];
+
+            whitePassedMasks[panel] = span & rowsAbove;
+            blackPassedMasks[panel] = span & rowsBelow;
+
+            whiteSupportMasks[panel] = adjacentColumns[column] & ~rowsAbove;
+            blackSupportMasks[panel] = adjacentColumns[column] & ~rowsBelow;
+        }
+    }
+
+    private final PawnHashTable table;
+
+    PawnEvaluator() {
+        this(new PawnHashTable());
+    }
+
+    PawnEvaluator(PawnHashTable table) {
+        this.table = table;
+    }
+
+    PawnHashTable getTable() {
+        return table;
+    }
+
+    /**
+     * @param board  board to evaluate
+     * @param player player to evaluate the pawns for
+     * @param phase  phase of the game, between 0 and {@link PieceSquareTable#MAX_PHASE}
+     * @return the score of the pawn structure in centipawns from the point of view of the player
+     */
+    int evaluate(FigureBoard board, Color player, int phase) {
+        final long pawnHash = board.getPawnHash();
+        int index = table.find(pawnHash);
+
+        if (index < 0) {
+            final long whitePawns = board.getPieces(Color.WHITE, FigureType.PAWN);
+            final long blackPawns = board.getPieces(Color.BLACK, FigureType.PAWN);
+
+            final int middleGame = evaluate(whitePawns, blackPawns, Color.WHITE, true) - evaluate(blackPawns, whitePawns, Color.BLACK, true);
+            final int endGame = evaluate(whitePawns, blackPawns, Color.WHITE, false) - evaluate(blackPawns, whitePawns, Color.BLACK, false);
+            index = table.put(pawnHash, middleGame, endGame);
+        }
+
+        final int score = (table.getMiddleGameScore(index) * phase + table.getEndGameScore(index) * (PieceSquareTable.MAX_PHASE - phase)) / PieceSquareTable.MAX_PHASE;
+        return player == Color.WHITE ? score : -score;
+    }
+
+    private static int evaluate(long pawns, long enemyPawns, Color color, boolean middleGame) {
+        final boolean white = color == Color.WHITE;
+        int score = 0;
+
+        for (int column = 0; column < 8; column++) {
+            final int count = Long.bitCount(pawns & columns[column]);
+
+            if (count > 1) {
+                score += (count - 1) * (middleGame ? DOUBLED_MIDDLE_GAME : DOUBLED_END_GAME);
+            }
+        }
+
+        long remaining = pawns;
+
+        while (remaining != 0) {
+            final int panel = Long.numberOfTrailingZeros(remaining);
+            remaining &= remaining - 1;
+
+            final int column = panel % 8;
+            final int row = white ? panel / 8 : 7 - panel / 8;
+
+            if ((enemyPawns & (white ? whitePassedMasks[panel] : blackPassedMasks[panel])) == 0) {
+                score += middleGame ? PASSED_MIDDLE_GAME[row] : PASSED_END_GAME[row];
+            }
+
+            if ((pawns & adjacentColumns[column]) == 0) {
+                score += middleGame ? ISOLATED_MIDDLE_GAME : ISOLATED_END_GAME;
+            } else if (row < 7 && (pawns & (white ? whiteSupportMasks[panel] : blackSupportMasks[panel])) == 0) {
+                //no own pawn can support it and the panel in front is controlled by an enemy pawn
+                final int stop = white ? panel + 8 : panel - 8;
+
+                if ((LeaperAttacks.pawnAttacks(stop, color) & enemyPawns) != 0) {
+                    score += middleGame ? BACKWARD_MIDDLE_GAME : BACKWARD_END_GAME;
+                }
+            }
+        }
+        return score;
+    }
+}
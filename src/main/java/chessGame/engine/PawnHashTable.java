@@ -0,0 +1,92 @@
+package chessGame.engine;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Lossy memory for the evaluation of pawn structures, keyed by the pawn hash of the board.
+ * <p>
+ * The pawns change only by a few moves, so most positions of a search share the structure of their parent.
+ * The lower bits of the hash select the slot, a new entry always replaces the old one.
+ */
+class PawnHashTable {
+    private final long[] keys;
+    private final int[] middleGameScores;
+    private final int[] endGameScores;
+    private final boolean[] used;
+    private final int mask;
+
+    private long hits;
+    private long misses;
+
+    PawnHashTable() {
+        this(1 << 14);
+    }
+
+    /**
+     * @param size number of entries, rounded down to a power of two
+     */
+    PawnHashTable(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size of table needs to be positive: " + size);
+        }
+        final int slots = Integer.highestOneBit(size);
+        keys = new long[slots];
+        middleGameScores = new int[slots];
+        endGameScores = new int[slots];
+        used = new boolean[slots];
+        mask = slots - 1;
+    }
+
+    /**
+     * @param pawnHash pawn hash of the board
+     * @return the index of the entry of the structure, or -1 if it is not known
+     */
+    int find(long pawnHash) {
+        final int index = (int) pawnHash & mask;
+
+        if (!used[index] || keys[index] != pawnHash) {
+            misses++;
+            return -1;
+        }
+        hits++;
+        return index;
+    }
+
+    int getMiddleGameScore(int index) {
+        return middleGameScores[index];
+    }
+
+    int getEndGameScore(int index) {
+        return endGameScores[index];
+    }
+
+    /**
+     * @param pawnHash        pawn hash of the board
+     * @param middleGameScore score of the structure for white in the middle game
+     * @param endGameScore    score of the structure for white in the end game
+     * @return the index of the new entry
+     */
+    int put(long pawnHash, int middleGameScore, int endGameScore) {
+        final int index = (int) pawnHash & mask;
+
+        keys[index] = pawnHash;
+        middleGameScores[index] = middleGameScore;
+        endGameScores[index] = endGameScore;
+        used[index] = true;
+        return index;
+    }
+
+    void printInfo() {
+        final long requests = hits + misses;
+
+        System.out.println("Pawn Hits: " + hits);
+        System.out.println("Pawn Misses: " + misses);
+
+        if (requests > 0) {
+            System.out.println("Pawn Hit Rate: " + BigDecimal.valueOf(hits).multiply(BigDecimal.valueOf(100)).divide(BigDecimal.valueOf(requests), 1, RoundingMode.HALF_EVEN));
+        }
+        hits = 0;
+        misses = 0;
+    }
+}
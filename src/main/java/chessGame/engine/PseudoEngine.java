@@ -4,7 +4,7 @@ import chessGame.mechanics.*;
 import chessGame.mechanics.board.FigureBoard;
 import chessGame.mechanics.board.BoardSnapShot;
 import chessGame.mechanics.game.ChessGame;
-import chessGame.mechanics.move.MoveForGenerator;
+import chessGame.mechanics.move.Move;
 import chessGame.mechanics.move.PlayerMove;
 import chessGame.mechanics.move.PositionGenerator;
 
@@ -31,7 +31,7 @@ public class PseudoEngine extends Engine {
         searchItemMap.values().forEach(SearchItem::resetLevel);
 
         //removed cloning
-        final List<PlayerMove> moves = new ArrayList<>(MoveForGenerator.getAllowedMoves(player.getColor(), game));
+        final List<PlayerMove> moves = new ArrayList<>(game.getMoveGenerator().getAllowedMoves(player.getColor(), game));
 
 
 //        final SearchItem searchItem = search(moves, maxDepth);
@@ -132,7 +132,7 @@ public class PseudoEngine extends Engine {
     }
 
 
-    private double evaluateBoard(FigureBoard before, FigureBoard after, PlayerMove move) {
+    private int evaluateBoard(FigureBoard before, FigureBoard after, PlayerMove move) {
 //        final int whiteSum = getDominationSum(before, Board<Figure>::getWhite);
 //        final int blackSum = getDominationSum(before, Board<Figure>::getBlack);
 //
@@ -143,12 +143,12 @@ public class PseudoEngine extends Engine {
 //        final int dominationAfter = difference(move.getColor().isWhite(), afterBlackSum, afterWhiteSum);
 
         //evaluate own move for striking a figure
-        final double strike = evaluateStrike(move);
+        final int strike = evaluateStrike(move);
 
         //check for moves the enemy can do for striking one of the own figure
 //        final int enemySum = after.getAllowedMoves().stream().mapToInt(this::evaluateStrike).sum();
 
-        double result = strike;
+        int result = strike;
 
 //        if (after.getAllowedMoves().isEmpty()) {
 //            result = result + 1000;
@@ -161,16 +161,12 @@ public class PseudoEngine extends Engine {
         return result;
     }
 
-    private double evaluateStrike(PlayerMove playerMove) {
+    private int evaluateStrike(PlayerMove playerMove) {
         if (playerMove.isNormal()) {
-            return playerMove.getSecondaryMove().map(move -> {
-                FigureType figure = move.getFigure();
-
-//                int size = figure.getAllowedPositions().size();
-                double worth = figure.getWorth();
-                return worth;
-            }).orElse(0d);
+            final Move strike = playerMove.getSecondaryMove().orElse(null);
 
+//            int size = figure.getAllowedPositions().size();
+            return strike == null ? 0 : strike.getFigure().getCentipawns();
         }
         return 0;
     }
@@ -0,0 +1,35 @@
+package chessGame.engine;
+
+import chessGame.mechanics.Color;
+import chessGame.mechanics.board.FigureBoard;
+import chessGame.mechanics.board.PieceSquareTable;
+
+/**
+ * Evaluates the material, the piece-square bonuses of the middle game and of the end game
+ * and the pawn structure, blended by the phase of the game.
+ * <p>
+ * Material and bonuses are running totals of the board, so they cost a few subtractions.
+ * The pawn structure is looked up in the {@link PawnHashTable} of the {@link PawnEvaluator}.
+ */
+class TaperedEvaluator implements Evaluator {
+    private final PawnEvaluator pawnEvaluator = new PawnEvaluator();
+
+    @Override
+    public int evaluate(FigureBoard board, Color player) {
+        final Color enemy = Color.getEnemy(player);
+
+        final int material = board.getMaterial(player) - board.getMaterial(enemy);
+        final int middleGame = board.getPieceSquareScore(player) - board.getPieceSquareScore(enemy);
+        final int endGame = board.getEndGameScore(player) - board.getEndGameScore(enemy);
+
+        //promotions may raise the phase above the one of the start position
+        final int phase = Math.min(board.getPhase(), PieceSquareTable.MAX_PHASE);
+        return material + (middleGame * phase + endGame * (PieceSquareTable.MAX_PHASE - phase)) / PieceSquareTable.MAX_PHASE
+                + pawnEvaluator.evaluate(board, player, phase);
+    }
+
+    @Override
+    public void printInfo() {
+        pawnEvaluator.getTable().printInfo();
+    }
+}
@@ -6,7 +6,6 @@ import chessGame.mechanics.Position;
 import chessGame.mechanics.board.FigureBoard;
 import chessGame.mechanics.game.Game;
 import chessGame.mechanics.move.Move;
-import chessGame.mechanics.move.MoveForGenerator;
 import chessGame.mechanics.move.PlayerMove;
 import javafx.scene.layout.Pane;
 
@@ -51,8 +50,8 @@ class MoveShower {
         Game game = grid.getGame();
         FigureBoard board = game.getBoard();
 
-        final List<PlayerMove> movesWhite = MoveForGenerator.getAllowedMoves(game.getWhite().getColor(), game);
-        final List<PlayerMove> movesBlack = MoveForGenerator.getAllowedMoves(game.getBlack().getColor(), game);
+        final List<PlayerMove> movesWhite = game.getMoveGenerator().getAllowedMoves(game.getWhite().getColor(), game);
+        final List<PlayerMove> movesBlack = game.getMoveGenerator().getAllowedMoves(game.getBlack().getColor(), game);
 
         final List<PlayerMove> allowedMoves = new ArrayList<>();
         allowedMoves.addAll(movesWhite);
@@ -6,20 +6,22 @@ import javafx.scene.image.Image;
  *
  */
 public enum FigureType {
-    PAWN(1, "/img/blackPawn.png", "/img/whitePawn.png",'P'),
-    ROOK(3.1, "/img/blackRook.png", "/img/whiteRook.png",'R'),
-    KNIGHT(3.2, "/img/blackKnight.png", "/img/whiteKnight.png",'N'),
-    BISHOP(4.6, "/img/blackBishop.png", "/img/whiteBishop.png",'B'),
-    QUEEN(9, "/img/blackQueen.png", "/img/whiteQueen.png",'Q'),
-    KING(0, "/img/blackKing.png", "/img/whiteKing.png",'K');
+    PAWN(1, 100, "/img/blackPawn.png", "/img/whitePawn.png",'P'),
+    ROOK(3.1, 310, "/img/blackRook.png", "/img/whiteRook.png",'R'),
+    KNIGHT(3.2, 320, "/img/blackKnight.png", "/img/whiteKnight.png",'N'),
+    BISHOP(4.6, 460, "/img/blackBishop.png", "/img/whiteBishop.png",'B'),
+    QUEEN(9, 900, "/img/blackQueen.png", "/img/whiteQueen.png",'Q'),
+    KING(0, 0, "/img/blackKing.png", "/img/whiteKing.png",'K');
 
     private final double worth;
+    private final int centipawns;
     private final String black;
     private final String white;
     private final char notation;
 
-    FigureType(double worth, String black, String white, char notation) {
+    FigureType(double worth, int centipawns, String black, String white, char notation) {
         this.worth = worth;
+        this.centipawns = centipawns;
         this.black = black;
         this.white = white;
         this.notation = notation;
@@ -33,6 +35,15 @@ public enum FigureType {
         return worth;
     }
 
+    /**
+     * The worth in hundredths of a pawn, which the engines calculate with.
+     *
+     * @return the worth in centipawns
+     */
+    public int getCentipawns() {
+        return centipawns;
+    }
+
     public Figure create(Color player) {
         return new Figure(player, this);
     }
@@ -3,19 +3,33 @@ package chessGame.mechanics;
 import java.io.Serializable;
 
 /**
- *
+ * An immutable Position of the Board.
+ * <p>
+ * All 64 Positions on the Board and the {@link #Bench}, {@link #Promoted} and {@link #Unknown} sentinels
+ * are created once, {@link #get(int)} and {@link #get(int, int)} only look them up,
+ * so there is exactly one instance per panel and Positions can be compared by identity.
  */
 public final class Position implements Comparable<Position>, Serializable {
     public static final Position Bench = new Position(-1);
     public static final Position Promoted = new Position(-2);
     public static final Position Unknown = new Position(-3);
 
+    private static final Position[] positions = new Position[64];
+
+    static {
+        for (int panel = 0; panel < positions.length; panel++) {
+            positions[panel] = new Position(panel);
+        }
+    }
+
     private final int panel;
-    private int column;
-    private int row;
+    private final int column;
+    private final int row;
 
     private Position(int panel) {
         this.panel = panel;
+        this.row = (panel / 8) + 1;
+        this.column = (panel % 8) + 1;
     }
 
     /**
@@ -46,7 +60,7 @@ public final class Position implements Comparable<Position>, Serializable {
         if (!isInBoard(panel)) {
             throw new IllegalArgumentException("Not on Board<Figure>! " + panel);
         }
-        return new Position(panel);
+        return positions[panel];
     }
 
     public boolean isInBoard() {
@@ -60,11 +74,8 @@ public final class Position implements Comparable<Position>, Serializable {
 
     @Override
     public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-
-        Position position = (Position) o;
-        return getPanel() == position.getPanel();
+        //there is only one instance per panel
+        return this == o;
     }
 
     public int getPanel() {
@@ -91,9 +102,6 @@ public final class Position implements Comparable<Position>, Serializable {
     }
 
     public int getRow() {
-        if (row == 0) {
-            row = (panel / 8) + 1;
-        }
         return row;
     }
 
@@ -102,9 +110,6 @@ public final class Position implements Comparable<Position>, Serializable {
     }
 
     public int getColumn() {
-        if (column == 0) {
-            column = (panel % 8) + 1;
-        }
         return column;
     }
 
@@ -120,4 +125,21 @@ public final class Position implements Comparable<Position>, Serializable {
         }
         return compare;
     }
+
+    /**
+     * Replaces a deserialized Position with the shared instance of its panel,
+     * to keep the identity of Positions.
+     */
+    private Object readResolve() {
+        switch (panel) {
+            case -1:
+                return Bench;
+            case -2:
+                return Promoted;
+            case -3:
+                return Unknown;
+            default:
+                return get(panel);
+        }
+    }
 }
@@ -2,7 +2,6 @@ package chessGame.mechanics;
 
 import chessGame.mechanics.board.FigureBoard;
 import chessGame.mechanics.game.Game;
-import chessGame.mechanics.move.MoveForGenerator;
 import chessGame.mechanics.move.MoveHistory;
 import chessGame.mechanics.move.PlayerMove;
 
@@ -38,18 +37,18 @@ public abstract class RuleEvaluator {
         FigureBoard board = game.getBoard();
 
         Color enemy = Color.getEnemy(player);
-        List<PlayerMove> enemyMoves = MoveForGenerator.getAllowedMoves(enemy, game);
-        List<PlayerMove> playerMoves = MoveForGenerator.getAllowedMoves(player, game);
+        List<PlayerMove> enemyMoves = game.getMoveGenerator().getAllowedMoves(enemy, game);
+        List<PlayerMove> playerMoves = game.getMoveGenerator().getAllowedMoves(player, game);
 
         if (playerMoves.isEmpty() && !enemyMoves.isEmpty()) {
             Figure king = board.getKing(player.isWhite());
-            return MoveForGenerator.isInCheck(king, board) ? End.LOSS : End.DRAW;
+            return game.getMoveGenerator().isInCheck(king, board) ? End.LOSS : End.DRAW;
 
         } else if (enemyMoves.isEmpty() && !playerMoves.isEmpty()) {
             Figure king = board.getKing(enemy.isWhite());
 
             //player at move has no legal moves, but king is not in check results in a draw
-            return MoveForGenerator.isInCheck(king, board) ? End.WIN : End.DRAW;
+            return game.getMoveGenerator().isInCheck(king, board) ? End.WIN : End.DRAW;
         //if both players can make no legal moves or a checkmate is not possible
         } else if (enemyMoves.isEmpty() || checkImpossibleCheckMate(game)) {
             return End.DRAW;
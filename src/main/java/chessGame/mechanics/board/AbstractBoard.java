@@ -1,23 +1,153 @@
 package chessGame.mechanics.board;
 
+import chessGame.mechanics.Color;
 import chessGame.mechanics.Figure;
 import chessGame.mechanics.FigureType;
 import chessGame.mechanics.Position;
 
-import java.util.Iterator;
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
+import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
- *
+ * The Base Class of the {@link FigureBoard}s.
+ * <p>
+ * It keeps an identity based index from each Figure to its Position,
+ * which is updated in {@link #setFigure(Figure, Position)} and {@link #setEmpty(Position)},
+ * so that {@link #positionOf(Figure)} is a constant time lookup for every implementation.
+ * <p>
+ * The piece lists of both players are maintained in the same way.
+ * {@link #getFigures()}, {@link #getFigures(Color)} and {@link #getPlayerFigures()}
+ * return these lists read-only, they reflect later changes of the board,
+ * so querying them does not allocate anything.
+ * The lists are ordered by the panels of the figures, so their order, and with it the order of generated moves,
+ * depends only on the position and not on the moves, which lead to it.
+ * The occupancy bitboards and the material and piece-square totals of both players are kept in the same way,
+ * so that making and unmaking moves updates them and neither attack queries nor evaluating a board
+ * need to visit any figure.
+ * Implementations only need to store the Figures by Position.
  */
 public abstract class AbstractBoard implements FigureBoard {
+    private final Map<Figure, Position> positions = new IdentityHashMap<>(64);
+
+    private final PieceList whiteFigures = new PieceList();
+    private final PieceList blackFigures = new PieceList();
+    private final PieceList figures = new PieceList();
+    private final Map<Color, List<Figure>> playerFigures;
+
+    //indexed by the ordinal of the color times six plus the ordinal of the type
+    private final long[] pieces = new long[12];
+    //indexed by the ordinal of the color
+    private final long[] occupancy = new long[2];
+
     private Figure whiteKing;
     private Figure blackKing;
     private long hash;
+    private long pawnHash;
+
+    //indexed by the ordinal of the color
+    private final int[] material = new int[2];
+    private final int[] pieceSquareScore = new int[2];
+    private final int[] endGameScore = new int[2];
+    private int phase;
+
+    AbstractBoard() {
+        Map<Color, List<Figure>> map = new EnumMap<>(Color.class);
+        map.put(Color.WHITE, whiteFigures);
+        map.put(Color.BLACK, blackFigures);
+        playerFigures = Collections.unmodifiableMap(map);
+    }
+
+    @Override
+    public void setFigure(Figure figure, Position position) {
+        Objects.requireNonNull(figure);
+
+        if (!isEmptyAt(position)) {
+            throw new IllegalArgumentException("Is not Empty at " + position);
+        }
+        putFigure(figure, position);
+        positions.put(figure, position);
+        listOf(figure.getColor()).insert(figure, position.getPanel());
+        figures.insert(figure, position.getPanel());
+        togglePanel(figure, position);
+        addScore(figure, position, 1);
+        //boards set up without the BoardInitiator, e.g. from a FEN, need to know their kings too
+        setKing(figure);
+    }
+
+    @Override
+    public void setEmpty(Position position) {
+        final Figure figure = figureAt(position);
+
+        if (figure != null) {
+            removeFigure(position);
+            positions.remove(figure);
+            listOf(figure.getColor()).delete(position.getPanel());
+            figures.delete(position.getPanel());
+            togglePanel(figure, position);
+            addScore(figure, position, -1);
+        }
+    }
+
+    private void togglePanel(Figure figure, Position position) {
+        final long bit = 1L << position.getPanel();
+        final int color = figure.getColor().ordinal();
+
+        pieces[color * 6 + figure.getType().ordinal()] ^= bit;
+        occupancy[color] ^= bit;
+    }
+
+    private void addScore(Figure figure, Position position, int sign) {
+        final FigureType type = figure.getType();
+        final Color color = figure.getColor();
+
+        material[color.ordinal()] += sign * type.getCentipawns();
+        pieceSquareScore[color.ordinal()] += sign * PieceSquareTable.getScore(type, color, position.getPanel());
+        endGameScore[color.ordinal()] += sign * PieceSquareTable.getEndGameScore(type, color, position.getPanel());
+        phase += sign * PieceSquareTable.getPhase(type);
+    }
+
+    @Override
+    public Position positionOf(Figure figure) {
+        final Position position = positions.get(figure);
+        return position == null ? Position.Unknown : position;
+    }
+
+    @Override
+    public List<Figure> getFigures(Color player) {
+        return listOf(player);
+    }
+
+    @Override
+    public Map<Color, List<Figure>> getPlayerFigures() {
+        return playerFigures;
+    }
+
+    @Override
+    public List<Figure> getFigures() {
+        return figures;
+    }
+
+    private PieceList listOf(Color player) {
+        return player == Color.WHITE ? whiteFigures : blackFigures;
+    }
+
+    /**
+     * Stores the Figure at the given Position.
+     * The Position is guaranteed to be empty.
+     *
+     * @param figure   figure to store, not null
+     * @param position position to store the figure at
+     */
+    abstract void putFigure(Figure figure, Position position);
+
+    /**
+     * Removes the Figure at the given Position.
+     * The Position is guaranteed to be occupied.
+     *
+     * @param position position to empty
+     */
+    abstract void removeFigure(Position position);
 
     @Override
     public Iterator<Figure> iterator() {
@@ -31,7 +161,7 @@ public abstract class AbstractBoard implements FigureBoard {
 
     @Override
     public boolean isEmptyAt(Position position) {
-        return figureAt(position) == null;
+        return (getOccupied() & (1L << position.getPanel())) == 0;
     }
 
     void setKing(Figure figure) {
@@ -53,6 +183,50 @@ public abstract class AbstractBoard implements FigureBoard {
         this.hash = hash;
     }
 
+    @Override
+    public long getPawnHash() {
+        return pawnHash;
+    }
+
+    public void setPawnHash(long pawnHash) {
+        this.pawnHash = pawnHash;
+    }
+
+    @Override
+    public int getMaterial(Color player) {
+        return material[player.ordinal()];
+    }
+
+    @Override
+    public int getPieceSquareScore(Color player) {
+        return pieceSquareScore[player.ordinal()];
+    }
+
+    @Override
+    public int getEndGameScore(Color player) {
+        return endGameScore[player.ordinal()];
+    }
+
+    @Override
+    public int getPhase() {
+        return phase;
+    }
+
+    @Override
+    public long getOccupied() {
+        return occupancy[0] | occupancy[1];
+    }
+
+    @Override
+    public long getOccupied(Color player) {
+        return occupancy[player.ordinal()];
+    }
+
+    @Override
+    public long getPieces(Color player, FigureType type) {
+        return pieces[player.ordinal() * 6 + type.ordinal()];
+    }
+
     abstract Stream<Figure> stream();
 
     Map<Boolean, List<Figure>> getPlayerFiguresByStream() {
@@ -63,6 +237,51 @@ public abstract class AbstractBoard implements FigureBoard {
         return stream().filter(Objects::nonNull).collect(Collectors.toList());
     }
 
+    /**
+     * Figures ordered by their panels. A figure is found by a binary search over the panels,
+     * inserting and removing shifts at most the figures behind it. Read-only for everyone outside of the board.
+     */
+    private static final class PieceList extends AbstractList<Figure> implements RandomAccess {
+        private final Figure[] figures = new Figure[64];
+        private final int[] panels = new int[64];
+        private int size;
+
+        @Override
+        public Figure get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return figures[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        private void insert(Figure figure, int panel) {
+            //the panel is empty, so the search returns where it belongs
+            final int index = -Arrays.binarySearch(panels, 0, size, panel) - 1;
+
+            System.arraycopy(figures, index, figures, index + 1, size - index);
+            System.arraycopy(panels, index, panels, index + 1, size - index);
+            figures[index] = figure;
+            panels[index] = panel;
+            size++;
+            modCount++;
+        }
+
+        private void delete(int panel) {
+            final int index = Arrays.binarySearch(panels, 0, size, panel);
+
+            System.arraycopy(figures, index + 1, figures, index, size - index - 1);
+            System.arraycopy(panels, index + 1, panels, index, size - index - 1);
+            size--;
+            figures[size] = null;
+            modCount++;
+        }
+    }
+
     private static class BoardIterator implements Iterator<Figure> {
         private final Board<Figure> board;
         private int index;
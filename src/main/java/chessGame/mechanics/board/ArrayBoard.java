@@ -14,33 +14,13 @@ public class ArrayBoard extends AbstractBoard{
     private final Figure[] board = new Figure[64];
 
     @Override
-    public void setFigure(Figure figure, Position position) {
-        Objects.requireNonNull(figure);
-
-        final int index = position.getPanel();
-        Figure previous = board[index];
-
-        if (previous == null) {
-            board[index] = figure;
-        } else {
-            throw new IllegalArgumentException();
-        }
-    }
-
-    @Override
-    public void setEmpty(Position position) {
-        int index = position.getPanel();
-        board[index] = null;
+    void putFigure(Figure figure, Position position) {
+        board[position.getPanel()] = figure;
     }
 
     @Override
-    public Position positionOf(Figure figure) {
-        for (int i = 0; i < board.length; i++) {
-            if (Objects.equals(board[i], figure)) {
-                return Position.get(i);
-            }
-        }
-        return Position.Unknown;
+    void removeFigure(Position position) {
+        board[position.getPanel()] = null;
     }
 
     @Override
@@ -48,48 +28,11 @@ public class ArrayBoard extends AbstractBoard{
         return board[position.getPanel()];
     }
 
-    @Override
-    public List<Figure> getFigures(Color player) {
-        return getPlayerFigures().get(player);
-    }
-
-    @Override
-    public Map<Color, List<Figure>> getPlayerFigures() {
-        List<Figure> white = new ArrayList<>();
-        List<Figure> black = new ArrayList<>();
-
-        for (Figure figure : this) {
-            if (figure != null) {
-                if (figure.isWhite()) {
-                    white.add(figure);
-                } else {
-                    black.add(figure);
-                }
-            }
-        }
-        Map<Color, List<Figure>> map = new HashMap<>();
-        map.put(Color.WHITE, white);
-        map.put(Color.BLACK, black);
-        return map;
-    }
-
     @Override
     Stream<Figure> stream() {
         return Arrays.stream(board);
     }
 
-    @Override
-    public List<Figure> getFigures() {
-        List<Figure> figures = new ArrayList<>();
-
-        for (Figure figure : this) {
-            if (figure != null) {
-                figures.add(figure);
-            }
-        }
-        return figures;
-    }
-
     @Override
     public int hashCode() {
         return Arrays.hashCode(board);
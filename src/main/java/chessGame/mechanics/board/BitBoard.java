@@ -0,0 +1,65 @@
+package chessGame.mechanics.board;
+
+import chessGame.mechanics.Color;
+import chessGame.mechanics.Figure;
+import chessGame.mechanics.FigureType;
+import chessGame.mechanics.Position;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * A Board which answers its queries from one {@code long} per piece type and color.
+ * Bit {@code n} of a bitboard corresponds to the panel {@code n} of a {@link Position}.
+ * <p>
+ * The bitboards and the occupancy of each color are kept by the {@link AbstractBoard} for every board,
+ * so occupancy and piece-type queries are single word operations.
+ * The Figures themselves are held in a panel-indexed array, as the Figures are identity based.
+ */
+public class BitBoard extends AbstractBoard {
+    private final Figure[] board = new Figure[64];
+
+    @Override
+    void putFigure(Figure figure, Position position) {
+        board[position.getPanel()] = figure;
+    }
+
+    @Override
+    void removeFigure(Position position) {
+        board[position.getPanel()] = null;
+    }
+
+    @Override
+    public Figure figureAt(Position position) {
+        return board[position.getPanel()];
+    }
+
+    /**
+     * Returns the panels of all Figures of the given type, regardless of their color.
+     *
+     * @param type type of the figures, not null
+     * @return a bitboard with a bit set for every panel occupied by a matching figure
+     */
+    public long getPieces(FigureType type) {
+        return getPieces(Color.WHITE, type) | getPieces(Color.BLACK, type);
+    }
+
+    @Override
+    Stream<Figure> stream() {
+        return Arrays.stream(board);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(board);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        BitBoard figures = (BitBoard) o;
+        return Arrays.equals(board, figures.board);
+    }
+}
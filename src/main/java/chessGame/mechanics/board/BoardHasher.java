@@ -1,14 +1,21 @@
 package chessGame.mechanics.board;
 
-import chessGame.mechanics.move.PlayerMove;
-
 /**
  *
  */
 public interface BoardHasher {
     void hashBoard();
 
-    void forwardHash(PlayerMove move);
-
-    void backWardHash(PlayerMove move);
+    /**
+     * Updates the hash of the board by the changes of a move.
+     * As the update is an XOR, calling it again with the same arguments
+     * reverses the update, so it is used for making and unmaking a move alike.
+     *
+     * @param move              the packed move
+     * @param previousCastling  castling rights before the move
+     * @param castling          castling rights after the move
+     * @param previousEnPassant en passant panel before the move, -1 if none
+     * @param enPassant         en passant panel after the move, -1 if none
+     */
+    void hashMove(int move, int previousCastling, int castling, int previousEnPassant, int enPassant);
 }
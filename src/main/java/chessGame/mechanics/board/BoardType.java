@@ -0,0 +1,31 @@
+package chessGame.mechanics.board;
+
+import java.util.function.Supplier;
+
+/**
+ * The available {@link FigureBoard} implementations, which a Game can be created with.
+ */
+public enum BoardType {
+    ARRAY(ArrayBoard::new),
+
+    MULTI_ARRAY(MultiArrayBoard::new),
+
+    MAP(MapBoard::new),
+
+    BIT(BitBoard::new),;
+
+    private final Supplier<FigureBoard> supplier;
+
+    BoardType(Supplier<FigureBoard> supplier) {
+        this.supplier = supplier;
+    }
+
+    /**
+     * Creates a new and empty Board of this type.
+     *
+     * @return a new Board, not null
+     */
+    public FigureBoard create() {
+        return supplier.get();
+    }
+}
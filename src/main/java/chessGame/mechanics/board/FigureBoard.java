@@ -1,6 +1,8 @@
 package chessGame.mechanics.board;
 
+import chessGame.mechanics.Color;
 import chessGame.mechanics.Figure;
+import chessGame.mechanics.FigureType;
 
 /**
  *
@@ -8,5 +10,71 @@ import chessGame.mechanics.Figure;
 public interface FigureBoard extends Board<Figure> {
     long getHash();
 
+    /**
+     * Returns the Zobrist hash of the pawns of both players, without any other figure or game state.
+     *
+     * @return the pawn hash, which changes only by moves of pawns, promotions and strikes of pawns
+     */
+    long getPawnHash();
+
     Figure getKing(boolean white);
+
+    /**
+     * Returns the occupancy of the whole board.
+     *
+     * @return a bitboard with a bit set for every occupied panel
+     */
+    long getOccupied();
+
+    /**
+     * Returns the occupancy of the given player.
+     *
+     * @param player color of the player, not null
+     * @return a bitboard with a bit set for every panel occupied by the player
+     */
+    long getOccupied(Color player);
+
+    /**
+     * Returns the panels of all Figures of the given type and color.
+     *
+     * @param player color of the figures, not null
+     * @param type   type of the figures, not null
+     * @return a bitboard with a bit set for every panel occupied by a matching figure
+     */
+    long getPieces(Color player, FigureType type);
+
+    /**
+     * Returns the worth of the Figures of the given player on the board.
+     * It is kept as running total while figures are set and removed, so it is a constant time lookup.
+     *
+     * @param player color of the player, not null
+     * @return the sum of {@link FigureType#getCentipawns()} of the figures of the player
+     */
+    int getMaterial(Color player);
+
+    /**
+     * Returns the bonuses of the Figures of the given player for the panels they stand on in the middle game.
+     * It is kept as running total while figures are set and removed, so it is a constant time lookup.
+     *
+     * @param player color of the player, not null
+     * @return the sum of {@link PieceSquareTable#getScore(FigureType, Color, int)} of the figures of the player
+     */
+    int getPieceSquareScore(Color player);
+
+    /**
+     * Returns the bonuses of the Figures of the given player for the panels they stand on in the end game.
+     * It is kept as running total while figures are set and removed, so it is a constant time lookup.
+     *
+     * @param player color of the player, not null
+     * @return the sum of {@link PieceSquareTable#getEndGameScore(FigureType, Color, int)} of the figures of the player
+     */
+    int getEndGameScore(Color player);
+
+    /**
+     * Returns the phase of the game, derived from the figures remaining on the board.
+     *
+     * @return the sum of {@link PieceSquareTable#getPhase(FigureType)} of all figures,
+     * {@link PieceSquareTable#MAX_PHASE} for the start position, less for later phases
+     */
+    int getPhase();
 }
@@ -0,0 +1,168 @@
+package chessGame.mechanics.board;
+
+import chessGame.mechanics.Color;
+import chessGame.mechanics.FigureType;
+
+/**
+ * Bonuses in centipawns for the panels the figures stand on.
+ * <p>
+ * There are tables for the middle game and for the end game, which differ for pawns and king,
+ * and a weight of every figure for the phase of the game, which is the sum of the weights of all figures on the board.
+ * The tables are written from the view of white, with the eighth row first, as they are usually printed.
+ * At class-load time they are converted into one lookup per color, type and panel,
+ * so that the boards can keep running totals of them cheaply.
+ *
+ * @see <a href="https://www.chessprogramming.org/Simplified_Evaluation_Function">Simplified Evaluation Function</a>
+ */
+public final class PieceSquareTable {
+    private static final int[] PAWN = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            10, 10, 20, 30, 30, 20, 10, 10,
+            5, 5, 10, 25, 25, 10, 5, 5,
+            0, 0, 0, 20, 20, 0, 0, 0,
+            5, -5, -10, 0, 0, -10, -5, 5,
+            5, 10, 10, -20, -20, 10, 10, 5,
+            0, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    private static final int[] ROOK = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            5, 10, 10, 10, 10, 10, 10, 5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            0, 0, 0, 5, 5, 0, 0, 0
+    };
+
+    private static final int[] KNIGHT = {
+            -50, -40, -30, -30, -30, -30, -40, -50,
+            -40, -20, 0, 0, 0, 0, -20, -40,
+            -30, 0, 10, 15, 15, 10, 0, -30,
+            -30, 5, 15, 20, 20, 15, 5, -30,
+            -30, 0, 15, 20, 20, 15, 0, -30,
+            -30, 5, 10, 15, 15, 10, 5, -30,
+            -40, -20, 0, 5, 5, 0, -20, -40,
+            -50, -40, -30, -30, -30, -30, -40, -50
+    };
+
+    private static final int[] BISHOP = {
+            -20, -10, -10, -10, -10, -10, -10, -20,
+            -10, 0, 0, 0, 0, 0, 0, -10,
+            -10, 0, 5, 10, 10, 5, 0, -10,
+            -10, 5, 5, 10, 10, 5, 5, -10,
+            -10, 0, 10, 10, 10, 10, 0, -10,
+            -10, 10, 10, 10, 10, 10, 10, -10,
+            -10, 5, 0, 0, 0, 0, 5, -10,
+            -20, -10, -10, -10, -10, -10, -10, -20
+    };
+
+    private static final int[] QUEEN = {
+            -20, -10, -10, -5, -5, -10, -10, -20,
+            -10, 0, 0, 0, 0, 0, 0, -10,
+            -10, 0, 5, 5, 5, 5, 0, -10,
+            -5, 0, 5, 5, 5, 5, 0, -5,
+            0, 0, 5, 5, 5, 5, 0, -5,
+            -10, 5, 5, 5, 5, 5, 0, -10,
+            -10, 0, 5, 0, 0, 0, 0, -10,
+            -20, -10, -10, -5, -5, -10, -10, -20
+    };
+
+    private static final int[] KING = {
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -20, -30, -30, -40, -40, -30, -30, -20,
+            -10, -20, -20, -20, -20, -20, -20, -10,
+            20, 20, 0, 0, 0, 0, 20, 20,
+            20, 30, 10, 0, 0, 10, 30, 20
+    };
+
+    private static final int[] END_GAME_PAWN = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            80, 80, 80, 80, 80, 80, 80, 80,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            30, 30, 30, 30, 30, 30, 30, 30,
+            20, 20, 20, 20, 20, 20, 20, 20,
+            10, 10, 10, 10, 10, 10, 10, 10,
+            0, 0, 0, 0, 0, 0, 0, 0,
+            0, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    private static final int[] END_GAME_KING = {
+            -50, -40, -30, -20, -20, -30, -40, -50,
+            -30, -20, -10, 0, 0, -10, -20, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -30, 0, 0, 0, 0, -30, -30,
+            -50, -30, -30, -30, -30, -30, -30, -50
+    };
+
+    /**
+     * Phase of a board with all figures of the start position, less figures mean a later phase.
+     */
+    public static final int MAX_PHASE = 24;
+
+    //indexed by the ordinal of the FigureType
+    private static final int[][] TABLES = {PAWN, ROOK, KNIGHT, BISHOP, QUEEN, KING};
+    private static final int[][] END_GAME_TABLES = {END_GAME_PAWN, ROOK, KNIGHT, BISHOP, QUEEN, END_GAME_KING};
+    private static final int[] PHASES = {0, 2, 1, 1, 4, 0};
+
+    private static final int[][] whiteScores = new int[FigureType.values().length][64];
+    private static final int[][] blackScores = new int[FigureType.values().length][64];
+    private static final int[][] whiteEndGameScores = new int[FigureType.values().length][64];
+    private static final int[][] blackEndGameScores = new int[FigureType.values().length][64];
+
+    static {
+        for (FigureType type : FigureType.values()) {
+            final int ordinal = type.ordinal();
+            for (int panel = 0; panel < 64; panel++) {
+                final int row = panel / 8;
+                final int column = panel % 8;
+
+                //the first row of a table is the eighth row of white, but the first row of black
+                whiteScores[ordinal][panel] = TABLES[ordinal][(7 - row) * 8 + column];
+                blackScores[ordinal][panel] = TABLES[ordinal][row * 8 + column];
+                whiteEndGameScores[ordinal][panel] = END_GAME_TABLES[ordinal][(7 - row) * 8 + column];
+                blackEndGameScores[ordinal][panel] = END_GAME_TABLES[ordinal][row * 8 + column];
+            }
+        }
+    }
+
+    private PieceSquareTable() {
+        throw new IllegalStateException("No Instances allowed!");
+    }
+
+    /**
+     * @param type  type of the figure
+     * @param color color of the figure
+     * @param panel panel of the figure, 0 <= panel <= 63
+     * @return the bonus in centipawns for a figure standing on the panel in the middle game
+     */
+    public static int getScore(FigureType type, Color color, int panel) {
+        return color == Color.WHITE ? whiteScores[type.ordinal()][panel] : blackScores[type.ordinal()][panel];
+    }
+
+    /**
+     * @param type  type of the figure
+     * @param color color of the figure
+     * @param panel panel of the figure, 0 <= panel <= 63
+     * @return the bonus in centipawns for a figure standing on the panel in the end game
+     */
+    public static int getEndGameScore(FigureType type, Color color, int panel) {
+        return color == Color.WHITE ? whiteEndGameScores[type.ordinal()][panel] : blackEndGameScores[type.ordinal()][panel];
+    }
+
+    /**
+     * @param type type of the figure
+     * @return the weight of the figure for the phase of the game
+     */
+    public static int getPhase(FigureType type) {
+        return PHASES[type.ordinal()];
+    }
+}
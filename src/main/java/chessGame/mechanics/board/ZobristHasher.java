@@ -2,9 +2,8 @@ package chessGame.mechanics.board;
 
 import chessGame.mechanics.*;
 import chessGame.mechanics.game.Game;
-import chessGame.mechanics.move.Move;
-import chessGame.mechanics.move.MoveHistory;
-import chessGame.mechanics.move.PlayerMove;
+import chessGame.mechanics.move.Castling;
+import chessGame.mechanics.move.PackedMove;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -13,7 +12,12 @@ import java.util.Random;
 import static chessGame.mechanics.FigureType.*;
 
 /**
- *
+ * Hashes the Board with the Zobrist scheme.
+ * <p>
+ * A full hash is only computed by {@link #hashBoard()}, every move updates the hash
+ * of the board incrementally by XOR in {@link #hashMove(int, int, int, int, int)}.
+ * Starting the JVM with {@code -DchessGame.verifyHash=true} compares every incremental
+ * update with a full rehash and fails on the first difference.
  */
 public class ZobristHasher implements BoardHasher {
     private static final long[][][] positionArray = new long[2][6][64];
@@ -36,21 +40,16 @@ public class ZobristHasher implements BoardHasher {
     private static final int Queen = 4;
     private static final int King = 5;
 
+    private static final boolean verify = Boolean.getBoolean("chessGame.verifyHash");
+
     static {
         initArrays();
     }
 
     private final Game game;
-    private int[] previousCastles = new int[2];
-    private int[] previousEnPassant = new int[2];
 
     public ZobristHasher(Game game) {
         this.game = game;
-        previousCastles[0] = -1;
-        previousCastles[1] = -1;
-
-        previousEnPassant[0] = -1;
-        previousEnPassant[1] = -1;
     }
 
     private static void initArrays() {
@@ -94,12 +93,27 @@ public class ZobristHasher implements BoardHasher {
     public void hashBoard() {
         long hash = getHash();
         ((AbstractBoard) game.getBoard()).setHash(hash);
+        ((AbstractBoard) game.getBoard()).setPawnHash(getPawnHash());
+    }
+
+    public long getPawnHash() {
+        final FigureBoard board = game.getBoard();
+        return getPawnHash(board.getPieces(Color.WHITE, PAWN), White) ^ getPawnHash(board.getPieces(Color.BLACK, PAWN), Black);
+    }
+
+    private long getPawnHash(long pawns, int color) {
+        long hash = 0;
+
+        while (pawns != 0) {
+            hash ^= positionArray[color][Pawn][Long.numberOfTrailingZeros(pawns)];
+            pawns &= pawns - 1;
+        }
+        return hash;
     }
 
     public long getHash() {
         long hash = 0;
         Board<Figure> board = game.getBoard();
-        MoveHistory history = game.getHistory();
 
         for (int panel = 0; panel < 64; panel++) {
             Figure figure = board.figureAt(Position.get(panel));
@@ -111,16 +125,97 @@ public class ZobristHasher implements BoardHasher {
             }
         }
 
-        hash = hashCastling(hash, game.getBlack().getColor());
-        hash = hashCastling(hash, game.getWhite().getColor());
+        int rights = game.getCastlingRights();
+        hash ^= castling_rights[White][getCastlingType(rights, Color.WHITE)];
+        hash ^= castling_rights[Black][getCastlingType(rights, Color.BLACK)];
 
-        hash = hashEnpassant(hash, history.getLast());
+        hash = hashEnPassant(hash, game.getEnPassantPanel());
 
         int atMoveIndex = getColor(game.getAtMove().isWhite());
         hash ^= atMove[atMoveIndex];
         return hash;
     }
 
+    @Override
+    public void hashMove(int move, int previousCastling, int castling, int previousEnPassant, int enPassant) {
+        AbstractBoard board = (AbstractBoard) game.getBoard();
+        long hash = board.getHash();
+        long pawnHash = board.getPawnHash();
+
+        final int color = PackedMove.isWhite(move) ? White : Black;
+        final int from = PackedMove.getFrom(move);
+        final int to = PackedMove.getTo(move);
+        final int type = getType(PackedMove.getPiece(move));
+
+        if (PackedMove.isCastling(move)) {
+            hash ^= positionArray[color][King][from] ^ positionArray[color][King][to];
+            hash ^= positionArray[color][Rook][PackedMove.getRookFrom(move)] ^ positionArray[color][Rook][PackedMove.getRookTo(move)];
+        } else {
+            final FigureType promotion = PackedMove.getPromotion(move);
+            final int toType = promotion == null ? type : getType(promotion);
+
+            hash ^= positionArray[color][type][from] ^ positionArray[color][toType][to];
+
+            if (type == Pawn) {
+                pawnHash ^= positionArray[color][Pawn][from];
+            }
+            if (toType == Pawn) {
+                pawnHash ^= positionArray[color][Pawn][to];
+            }
+
+            final FigureType captured = PackedMove.getCaptured(move);
+
+            if (captured != null) {
+                final long capturedKey = positionArray[1 - color][getType(captured)][PackedMove.getCapturedPanel(move)];
+                hash ^= capturedKey;
+
+                if (captured == PAWN) {
+                    pawnHash ^= capturedKey;
+                }
+            }
+        }
+
+        if (previousCastling != castling) {
+            hash ^= castling_rights[White][getCastlingType(previousCastling, Color.WHITE)] ^ castling_rights[White][getCastlingType(castling, Color.WHITE)];
+            hash ^= castling_rights[Black][getCastlingType(previousCastling, Color.BLACK)] ^ castling_rights[Black][getCastlingType(castling, Color.BLACK)];
+        }
+
+        hash = hashEnPassant(hash, previousEnPassant);
+        hash = hashEnPassant(hash, enPassant);
+
+        //the player at move changes with every move
+        hash ^= atMove[White] ^ atMove[Black];
+
+        board.setHash(hash);
+        board.setPawnHash(pawnHash);
+
+        if (verify) {
+            verify(hash, pawnHash, move);
+        }
+    }
+
+    private void verify(long hash, long pawnHash, int move) {
+        final long fullHash = getHash();
+
+        if (hash != fullHash) {
+            throw new IllegalStateException("Incremental hash " + hash + " differs from full hash " + fullHash + " after " + PackedMove.toString(move));
+        }
+
+        final long fullPawnHash = getPawnHash();
+
+        if (pawnHash != fullPawnHash) {
+            throw new IllegalStateException("Incremental pawn hash " + pawnHash + " differs from full pawn hash " + fullPawnHash + " after " + PackedMove.toString(move));
+        }
+    }
+
+    private long hashEnPassant(long hash, int enPassantPanel) {
+        return enPassantPanel < 0 ? hash : hash ^ en_passant[enPassantPanel % 8];
+    }
+
+    private int getCastlingType(int rights, Color color) {
+        return getCastlingType(Castling.canCastleLong(rights, color), Castling.canCastleShort(rights, color));
+    }
+
     private int getColor(boolean white) {
         return white ? White : Black;
     }
@@ -145,28 +240,6 @@ public class ZobristHasher implements BoardHasher {
         return type;
     }
 
-    private long hashEnpassant(long hash, PlayerMove move) {
-        if (move == null) return hash;
-
-        boolean moveWhite = move.isWhite();
-        int colorIndex = getColor(moveWhite);
-        int previousEP = previousEnPassant[colorIndex];
-
-        if (previousEP >= 0) {
-            hash ^= en_passant[previousEP];
-        }
-
-        int enPassantColumn = game.getHistory().getEnPassantColumn(moveWhite);
-        int column = enPassantColumn - 1;
-
-        if (column >= 0) {
-            hash ^= en_passant[column];
-        }
-
-        previousEnPassant[colorIndex] = column;
-        return hash;
-    }
-
     private int getCastlingType(boolean longCastling, boolean shortCastling) {
         int castlingType;
 
@@ -181,131 +254,4 @@ public class ZobristHasher implements BoardHasher {
         }
         return castlingType;
     }
-
-    @Override
-    public void forwardHash(PlayerMove playerMove) {
-        long hash = game.getBoard().getHash();
-
-        if (playerMove.isPromotion()) {
-            hash = hashForwardPromotion(playerMove, hash);
-
-        } else {
-            hash = hashMove(playerMove.getMainMove(), hash);
-
-            long finalHash = hash;
-            hash = playerMove.getSecondaryMove().map(move -> hashStrike(move, finalHash)).orElse(hash);
-            hash = hashEnpassant(hash, playerMove);
-        }
-        hash = hashCastling(hash, game.getBlack().getColor());
-        hash = hashCastling(hash, game.getWhite().getColor());
-        hash = getMoveHash(hash);
-
-        ((AbstractBoard) game.getBoard()).setHash(hash);
-    }
-
-    @Override
-    public void backWardHash(PlayerMove playerMove) {
-        long hash = game.getBoard().getHash();
-
-        if (playerMove.isPromotion()) {
-            hash = hashBackwardPromotion(playerMove, hash);
-        } else {
-            hash = hashMove(playerMove.getMainMove(), hash);
-
-            long finalHash = hash;
-            hash = playerMove.getSecondaryMove().map(move -> hashStrike(move, finalHash)).orElse(hash);
-            hash = hashEnpassant(hash, playerMove);
-        }
-        hash = hashCastling(hash, game.getBlack().getColor());
-        hash = hashCastling(hash, game.getWhite().getColor());
-        hash = getMoveHash(hash);
-
-        ((AbstractBoard) game.getBoard()).setHash(hash);
-    }
-
-    private long hashCastling(long hash, Color color) {
-        MoveHistory history = game.getHistory();
-
-        boolean white = color.isWhite();
-
-        boolean shortCastling = history.shortCastling(white);
-        boolean longCastling = history.longCastling(white);
-
-        int currentCastling = getCastlingType(longCastling, shortCastling);
-        int colorIndex = getColor(color.isWhite());
-
-        int previousCastle = previousCastles[colorIndex];
-
-        //save castle type
-        previousCastles[colorIndex] = currentCastling;
-
-        if (previousCastle < 0) {
-            return hash ^ castling_rights[colorIndex][currentCastling];
-        } else {
-            return hash ^ castling_rights[colorIndex][previousCastle] ^ castling_rights[colorIndex][currentCastling];
-        }
-    }
-
-    private long getMoveHash(long hash) {
-        Color atMove = game.getAtMoveColor();
-        boolean atMoveWhite = atMove.isWhite();
-
-        hash ^= ZobristHasher.atMove[getColor(!atMoveWhite)];
-        hash ^= ZobristHasher.atMove[getColor(atMoveWhite)];
-        return hash;
-    }
-
-    private long hashForwardPromotion(PlayerMove playerMove, long hash) {
-        Move mainMove = playerMove.getMainMove();
-        int fromPanel = mainMove.getFrom().getPanel();
-        int color = getColor(mainMove.getColor().isWhite());
-        int type = getType(mainMove.getFigure());
-
-        Move promotion = playerMove.getPromotionMove().orElseThrow(IllegalArgumentException::new);
-        FigureType promotionFigure = promotion.getFigure();
-        int promotionType = getType(promotionFigure);
-        int toPanel = promotion.getTo().getPanel();
-
-        hash ^= positionArray[color][type][fromPanel] ^ positionArray[color][promotionType][toPanel];
-        long finalHash = hash;
-        hash = playerMove.getSecondaryMove().map(move -> hashStrike(move, finalHash)).orElse(hash);
-        return hash;
-    }
-
-    private long hashBackwardPromotion(PlayerMove playerMove, long hash) {
-        Move mainMove = playerMove.getMainMove();
-        int fromPanel = mainMove.getFrom().getPanel();
-        int color = getColor(mainMove.getColor().isWhite());
-        int type = getType(mainMove.getFigure());
-
-        Move promotion = playerMove.getPromotionMove().orElseThrow(IllegalArgumentException::new);
-        FigureType promotionFigure = promotion.getFigure();
-        int promotionType = getType(promotionFigure);
-        int toPanel = promotion.getTo().getPanel();
-
-        hash ^= positionArray[color][promotionType][toPanel] ^ positionArray[color][type][fromPanel];
-
-        long finalHash = hash;
-        hash = playerMove.getSecondaryMove().map(move -> hashStrike(move, finalHash)).orElse(hash);
-        return hash;
-    }
-
-    private long hashMove(Move move, long hash) {
-        int fromPanel = move.getFrom().getPanel();
-        int toPanel = move.getTo().getPanel();
-        int color = getColor(move.getColor().isWhite());
-        int type = getType(move.getFigure());
-
-        return hash ^ positionArray[color][type][fromPanel] ^ positionArray[color][type][toPanel];
-    }
-
-    private long hashStrike(Move move, long hash) {
-        int fromPanel = move.getFrom().getPanel();
-        int color = getColor(move.getColor().isWhite());
-        int type = getType(move.getFigure());
-
-        hash ^= positionArray[color][type][fromPanel];
-        return hash;
-    }
-
 }
@@ -7,6 +7,7 @@ import chessGame.mechanics.Figure;
 import chessGame.mechanics.Player;
 import chessGame.mechanics.RuleEvaluator;
 import chessGame.mechanics.board.Board;
+import chessGame.mechanics.board.BoardType;
 import chessGame.mechanics.board.FigureBoard;
 import chessGame.mechanics.move.PlayerMove;
 import javafx.beans.property.BooleanProperty;
@@ -45,7 +46,11 @@ public class ChessGameImpl extends GameImpl implements ChessGame {
     }
 
     public ChessGameImpl(Player black, Player white, Duration duration) {
-        super(black, white, duration);
+        this(black, white, duration, BoardType.BIT);
+    }
+
+    public ChessGameImpl(Player black, Player white, Duration duration, BoardType boardType) {
+        super(black, white, duration, boardType);
 
         engineMap = EngineWorker.getEngineWorker().getEngines(this);
         initListener();
@@ -0,0 +1,212 @@
+package chessGame.mechanics.game;
+
+import chessGame.mechanics.Color;
+import chessGame.mechanics.Figure;
+import chessGame.mechanics.FigureType;
+import chessGame.mechanics.Position;
+import chessGame.mechanics.board.BoardType;
+import chessGame.mechanics.board.FigureBoard;
+import chessGame.mechanics.move.Castling;
+
+/**
+ * Loads positions given in the Forsyth-Edwards Notation and writes positions of games in it.
+ * <p>
+ * The fields of placement, active color, castling rights, en passant panel and halfmove clock are read,
+ * the fullmove number is ignored and written as {@code 1}.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Forsyth%E2%80%93Edwards_Notation">FEN</a>
+ */
+public final class FenLoader {
+    public static final String START = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    private FenLoader() {
+        throw new IllegalStateException("No Instances allowed!");
+    }
+
+    /**
+     * Creates a game without players at the time, which starts in the given position.
+     *
+     * @param fen position in the Forsyth-Edwards Notation
+     * @return game in the position
+     * @throws IllegalArgumentException if the notation is malformed
+     */
+    public static Game load(String fen) {
+        return load(fen, BoardType.BIT);
+    }
+
+    /**
+     * Creates a game without players at the time, which starts in the given position.
+     *
+     * @param fen       position in the Forsyth-Edwards Notation
+     * @param boardType implementation of the board to use
+     * @return game in the position
+     * @throws IllegalArgumentException if the notation is malformed
+     */
+    public static Game load(String fen, BoardType boardType) {
+        final String[] fields = fen.trim().split("\\s+");
+
+        if (fields.length < 2) {
+            throw new IllegalArgumentException("no active color in " + fen);
+        }
+
+        final FigureBoard board = boardType.create();
+        placeFigures(fields[0], board);
+
+        final GameImpl game = new GameImpl(board, null);
+
+        if (fields[1].equals("b")) {
+            game.setAtMove(game.getBlack());
+        } else if (!fields[1].equals("w")) {
+            throw new IllegalArgumentException("unknown active color " + fields[1]);
+        }
+
+        final int castling = fields.length > 2 ? parseCastling(fields[2]) : Castling.NONE;
+        final int enPassant = fields.length > 3 ? parsePanel(fields[3]) : -1;
+        final int halfMoveClock = fields.length > 4 ? parseHalfMoveClock(fields[4]) : 0;
+
+        //rights without king or rook on their start panels would produce illegal castling moves
+        game.setPositionState(castling & Castling.fromBoard(board), enPassant, halfMoveClock);
+        return game;
+    }
+
+    /**
+     * Writes the position of the game in the Forsyth-Edwards Notation.
+     * Loading the result creates a game, which is independent of the given one, but has the same position.
+     *
+     * @param game game with the position
+     * @return the position in the Forsyth-Edwards Notation
+     */
+    public static String toFen(Game game) {
+        final FigureBoard board = game.getBoard();
+        final StringBuilder builder = new StringBuilder();
+
+        for (int row = 8; row >= 1; row--) {
+            int empty = 0;
+
+            for (int column = 1; column <= 8; column++) {
+                final Figure figure = board.figureAt(Position.get(row, column));
+
+                if (figure == null) {
+                    empty++;
+                } else {
+                    if (empty > 0) {
+                        builder.append(empty);
+                        empty = 0;
+                    }
+                    builder.append(figure.getNotation());
+                }
+            }
+
+            if (empty > 0) {
+                builder.append(empty);
+            }
+            if (row > 1) {
+                builder.append('/');
+            }
+        }
+
+        builder.append(game.getAtMoveColor() == Color.WHITE ? " w " : " b ");
+
+        final int rights = game.getCastlingRights();
+
+        if (rights == Castling.NONE) {
+            builder.append('-');
+        } else {
+            if ((rights & Castling.WHITE_SHORT) != 0) builder.append('K');
+            if ((rights & Castling.WHITE_LONG) != 0) builder.append('Q');
+            if ((rights & Castling.BLACK_SHORT) != 0) builder.append('k');
+            if ((rights & Castling.BLACK_LONG) != 0) builder.append('q');
+        }
+
+        final int enPassant = game.getEnPassantPanel();
+
+        if (enPassant < 0) {
+            builder.append(" -");
+        } else {
+            builder.append(' ').append((char) ('a' + enPassant % 8)).append(enPassant / 8 + 1);
+        }
+        return builder.append(' ').append(game.getHalfMoveClock()).append(" 1").toString();
+    }
+
+    private static void placeFigures(String placement, FigureBoard board) {
+        final String[] rows = placement.split("/");
+
+        if (rows.length != 8) {
+            throw new IllegalArgumentException("expected 8 rows, got " + rows.length + " in " + placement);
+        }
+
+        for (int index = 0; index < rows.length; index++) {
+            //the first row of the notation is the eighth row of the board
+            final int row = 8 - index;
+            int column = 1;
+
+            for (char c : rows[index].toCharArray()) {
+                if (Character.isDigit(c)) {
+                    column += c - '0';
+                    continue;
+                }
+
+                final Color color = Character.isUpperCase(c) ? Color.WHITE : Color.BLACK;
+                board.setFigure(getType(Character.toUpperCase(c)).create(color), Position.get(row, column));
+                column++;
+            }
+
+            if (column != 9) {
+                throw new IllegalArgumentException("row " + row + " has not 8 columns in " + placement);
+            }
+        }
+    }
+
+    private static FigureType getType(char notation) {
+        for (FigureType type : FigureType.values()) {
+            if (type.getNotation() == notation) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("unknown figure " + notation);
+    }
+
+    private static int parseCastling(String field) {
+        int rights = Castling.NONE;
+
+        for (char c : field.toCharArray()) {
+            switch (c) {
+                case 'K':
+                    rights |= Castling.WHITE_SHORT;
+                    break;
+                case 'Q':
+                    rights |= Castling.WHITE_LONG;
+                    break;
+                case 'k':
+                    rights |= Castling.BLACK_SHORT;
+                    break;
+                case 'q':
+                    rights |= Castling.BLACK_LONG;
+                    break;
+                case '-':
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown castling right " + c);
+            }
+        }
+        return rights;
+    }
+
+    private static int parsePanel(String field) {
+        if (field.equals("-")) {
+            return -1;
+        }
+
+        if (field.length() != 2 || field.charAt(0) < 'a' || field.charAt(0) > 'h' || field.charAt(1) < '1' || field.charAt(1) > '8') {
+            throw new IllegalArgumentException("unknown panel " + field);
+        }
+        return (field.charAt(1) - '1') * 8 + field.charAt(0) - 'a';
+    }
+
+    private static int parseHalfMoveClock(String field) {
+        if (!field.matches("\\d{1,4}")) {
+            throw new IllegalArgumentException("unknown half move clock " + field);
+        }
+        return Integer.parseInt(field);
+    }
+}
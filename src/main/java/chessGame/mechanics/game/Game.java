@@ -5,6 +5,7 @@ import chessGame.mechanics.Figure;
 import chessGame.mechanics.FigureType;
 import chessGame.mechanics.Player;
 import chessGame.mechanics.board.FigureBoard;
+import chessGame.mechanics.move.MoveGenerator;
 import chessGame.mechanics.move.MoveHistory;
 import chessGame.mechanics.move.PlayerMove;
 import javafx.beans.property.ReadOnlyStringProperty;
@@ -20,6 +21,20 @@ public interface Game {
 
     List<PlayerMove> getAllowedMoves();
 
+    /**
+     * Gets the generator, which generates the {@link PlayerMove}s of this game.
+     *
+     * @return the generator, not null
+     */
+    MoveGenerator getMoveGenerator();
+
+    /**
+     * Sets the generator, which generates the {@link PlayerMove}s of this game.
+     *
+     * @param generator the generator, not null
+     */
+    void setMoveGenerator(MoveGenerator generator);
+
     MoveHistory getHistory();
 
     /**
@@ -40,6 +55,56 @@ public interface Game {
 
     void singlePlyRedo();
 
+    /**
+     * Makes a move packed by {@link chessGame.mechanics.move.PackedMove}.
+     * <p>
+     * Other than {@link #makeMove(PlayerMove)} it does not check if the move is allowed
+     * and it does not add anything to the {@link MoveHistory} or the snapshot,
+     * so it is meant for searches, which undo their moves with {@link #unmakeMove(int)}.
+     * Side to move, castling rights and en passant are updated as for any other move.
+     *
+     * @param move packed move of the player at move
+     */
+    void makeMove(int move);
+
+    /**
+     * Reverses the last move made by {@link #makeMove(int)}.
+     *
+     * @param move the packed move, which was made last
+     */
+    void unmakeMove(int move);
+
+    /**
+     * @return the current castling rights as bitmask of {@link chessGame.mechanics.move.Castling}
+     */
+    int getCastlingRights();
+
+    /**
+     * Returns the panel a pawn may move to by striking en passant.
+     * This is the panel a pawn skipped with a double advance in the last move.
+     *
+     * @return panel of the en passant target or -1 if the last move was no double advance
+     */
+    int getEnPassantPanel();
+
+    /**
+     * Returns the number of plies since the last strike or pawn move, as counted by the fifty-move rule.
+     * Only moves made in this game are counted.
+     *
+     * @return plies since the last irreversible move, 100 or more allow to claim a draw
+     */
+    int getHalfMoveClock();
+
+    /**
+     * Checks if the current position occurred before, since the last strike or pawn move.
+     * Positions are compared by their hash, which includes the player at move, castling rights and en passant.
+     * <p>
+     * A single repetition is enough for a search, as the repeating side can repeat it again.
+     *
+     * @return true if the position was reached before in this game
+     */
+    boolean isRepetition();
+
     void addPromoted(Figure figure);
 
     void addBench(Figure figure);
@@ -3,10 +3,7 @@ package chessGame.mechanics.game;
 import chessGame.mechanics.*;
 import chessGame.mechanics.Timer;
 import chessGame.mechanics.board.*;
-import chessGame.mechanics.move.MoveForGenerator;
-import chessGame.mechanics.move.MoveHistory;
-import chessGame.mechanics.move.MoveMaker;
-import chessGame.mechanics.move.PlayerMove;
+import chessGame.mechanics.move.*;
 import javafx.beans.property.ReadOnlyStringProperty;
 import javafx.util.Duration;
 
@@ -30,11 +27,28 @@ public class GameImpl implements Game {
     private boolean movesValid = false;
 
     private BoardHasher hasher;
+    private MoveGenerator generator = GeneratorType.FOR.create();
 
+    private int castlingRights;
+    private int enPassantPanel = -1;
+
+    //plies since the last strike or pawn move
+    private int halfMoveClock;
+
+    //castling rights, en passant and half move clock of the previous plies
+    private int[] previousStates = new int[64];
+    //hashes of the positions before the previous plies
+    private long[] previousHashes = new long[64];
+    private int plies;
 
     GameImpl(Player black, Player white, Duration duration) {
+        this(black, white, duration, BoardType.BIT);
+    }
+
+    GameImpl(Player black, Player white, Duration duration, BoardType boardType) {
         Objects.requireNonNull(black);
         Objects.requireNonNull(white);
+        Objects.requireNonNull(boardType);
 
 
         if (black.isWhite() && !white.isWhite()) {
@@ -48,11 +62,12 @@ public class GameImpl implements Game {
         }
 
 
-        board = new ArrayBoard();
+        board = boardType.create();
         timer = new chessGame.mechanics.Timer(duration);
 
         BoardInitiator.initiate(this);
         history = new MoveHistory(this);
+        castlingRights = Castling.fromBoard(board);
 
         hasher = new ZobristHasher(this);
         hasher.hashBoard();
@@ -69,9 +84,10 @@ public class GameImpl implements Game {
         timer = new chessGame.mechanics.Timer(Duration.INDEFINITE);
 
         history = new MoveHistory(this);
+        castlingRights = Castling.fromBoard(board);
         hasher = new ZobristHasher(this);
         hasher.hashBoard();
-        snapShot = set;
+        snapShot = set == null ? BoardEncoder.encode(this) : set;
     }
 
     GameImpl(GameImpl game) {
@@ -88,19 +104,38 @@ public class GameImpl implements Game {
 
         timer = game.timer;
         movesValid = game.movesValid;
-        hasher = game.hasher;
+        hasher = new ZobristHasher(this);
+        generator = game.generator;
         snapShot = game.snapShot;
+
+        castlingRights = game.castlingRights;
+        enPassantPanel = game.enPassantPanel;
+        halfMoveClock = game.halfMoveClock;
+        previousStates = game.previousStates.clone();
+        previousHashes = game.previousHashes.clone();
+        plies = game.plies;
     }
 
     @Override
     public List<PlayerMove> getAllowedMoves() {
         if (!movesValid) {
-            allowedMoves = MoveForGenerator.getAllowedMoves(getAtMove().getColor(), this);
+            allowedMoves = generator.getAllowedMoves(getAtMove().getColor(), this);
             movesValid = true;
         }
         return allowedMoves;
     }
 
+    @Override
+    public MoveGenerator getMoveGenerator() {
+        return generator;
+    }
+
+    @Override
+    public void setMoveGenerator(MoveGenerator generator) {
+        this.generator = Objects.requireNonNull(generator);
+        movesValid = false;
+    }
+
     @Override
     public MoveHistory getHistory() {
         return history;
@@ -133,10 +168,15 @@ public class GameImpl implements Game {
         }
         MoveMaker.makeSafeMove(move, getBoard(), this);
 
+        final int packedMove = PackedMove.encode(move);
+        final int previousCastling = castlingRights;
+        final int previousEnPassant = enPassantPanel;
+        pushState(packedMove);
+
         Player enemy = getEnemy(getAtMove());
-        setAtMove(enemy);
+        changeAtMove(enemy);
 
-        getHasher().forwardHash(move);
+        getHasher().hashMove(packedMove, previousCastling, castlingRights, previousEnPassant, enPassantPanel);
         BoardEncoder.updateForward(snapShot, this, move);
 
         getHistory().add(move);
@@ -147,14 +187,108 @@ public class GameImpl implements Game {
         PlayerMove last = history.getLast();
 
         Player atMove = getAtMove();
-        setAtMove(getEnemy(atMove));
+        changeAtMove(getEnemy(atMove));
 
         this.getHistory().removeLast();
 
-        getHasher().backWardHash(last);
         BoardEncoder.updateBackward(snapShot, this, last);
 
         MoveMaker.redo(getBoard(), this, last);
+
+        if (last != null) {
+            final int castling = castlingRights;
+            final int enPassant = enPassantPanel;
+            popState();
+
+            getHasher().hashMove(PackedMove.encode(last), castlingRights, castling, enPassantPanel, enPassant);
+        }
+    }
+
+    @Override
+    public void makeMove(int move) {
+        if (PackedMove.getColor(move) != getAtMoveColor()) {
+            throw new IllegalArgumentException("Move of wrong player " + getAtMove() + " Move: " + PackedMove.toString(move));
+        }
+        MoveMaker.makeMove(move, getBoard(), this);
+
+        final int previousCastling = castlingRights;
+        final int previousEnPassant = enPassantPanel;
+        pushState(move);
+        switchAtMove();
+
+        getHasher().hashMove(move, previousCastling, castlingRights, previousEnPassant, enPassantPanel);
+    }
+
+    @Override
+    public void unmakeMove(int move) {
+        final int castling = castlingRights;
+        final int enPassant = enPassantPanel;
+
+        switchAtMove();
+        popState();
+        MoveMaker.unmakeMove(move, getBoard(), this);
+
+        getHasher().hashMove(move, castlingRights, castling, enPassantPanel, enPassant);
+    }
+
+    @Override
+    public int getCastlingRights() {
+        return castlingRights;
+    }
+
+    @Override
+    public int getEnPassantPanel() {
+        return enPassantPanel;
+    }
+
+    @Override
+    public int getHalfMoveClock() {
+        return halfMoveClock;
+    }
+
+    @Override
+    public boolean isRepetition() {
+        final long hash = getBoard().getHash();
+        final int first = Math.max(0, plies - halfMoveClock);
+
+        //only positions with the same player at move can be equal, so every second ply is enough
+        for (int ply = plies - 2; ply >= first; ply -= 2) {
+            if (previousHashes[ply] == hash) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //called before the hash is updated, so the hash of the board is still the one before the move
+    private void pushState(int move) {
+        if (plies == previousStates.length) {
+            previousStates = Arrays.copyOf(previousStates, plies * 2);
+            previousHashes = Arrays.copyOf(previousHashes, plies * 2);
+        }
+        previousHashes[plies] = getBoard().getHash();
+        previousStates[plies++] = castlingRights | (enPassantPanel + 1) << 4 | halfMoveClock << 11;
+
+        final boolean irreversible = PackedMove.isCapture(move) || PackedMove.getPiece(move) == FigureType.PAWN;
+        halfMoveClock = irreversible ? 0 : halfMoveClock + 1;
+
+        final int from = PackedMove.getFrom(move);
+        final int to = PackedMove.getTo(move);
+
+        castlingRights &= Castling.getMask(from) & Castling.getMask(to);
+        enPassantPanel = PackedMove.isDoubleAdvance(move) ? (from + to) / 2 : -1;
+    }
+
+    private void popState() {
+        final int state = previousStates[--plies];
+        castlingRights = state & 0xF;
+        enPassantPanel = ((state >>> 4) & 0x7F) - 1;
+        halfMoveClock = state >>> 11;
+    }
+
+    private void switchAtMove() {
+        movesValid = false;
+        atMove = getEnemy(getAtMove());
     }
 
     @Override
@@ -256,11 +390,33 @@ public class GameImpl implements Game {
     }
 
     public void setAtMove(Player player) {
+        changeAtMove(player);
+        //the player at move is part of the hash
+        hasher.hashBoard();
+    }
+
+    //moves update the hash incrementally, which includes the change of the player at move
+    private void changeAtMove(Player player) {
         movesValid = false;
         atMove = player;
         BoardEncoder.setAtMove(getSnapShot(), player.getColor());
     }
 
+    /**
+     * Sets castling rights, en passant panel and half move clock of a position, which was not reached by moves of this game.
+     *
+     * @param castlingRights castling rights as bitmask of {@link Castling}
+     * @param enPassantPanel panel behind a pawn which just advanced two rows, -1 if there is none
+     * @param halfMoveClock  plies since the last strike or pawn move
+     */
+    void setPositionState(int castlingRights, int enPassantPanel, int halfMoveClock) {
+        movesValid = false;
+        this.castlingRights = castlingRights;
+        this.enPassantPanel = enPassantPanel;
+        this.halfMoveClock = halfMoveClock;
+        hasher.hashBoard();
+    }
+
     Player getEnemy(Player player) {
         return player.isWhite() ? getBlack() : getWhite();
     }
@@ -0,0 +1,218 @@
+package chessGame.mechanics.move;
+
+import chessGame.mechanics.Color;
+import chessGame.mechanics.FigureType;
+import chessGame.mechanics.Position;
+import chessGame.mechanics.board.FigureBoard;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Answers which panels are attacked by a player, from the piece bitboards of the board and attack tables.
+ * <p>
+ * Instead of generating the moves of every enemy figure, a panel is looked at from the attacked side:
+ * a knight on the panel would reach all knights attacking it, a rook on the panel all rooks and queens
+ * on the same lines and so on. A query therefore costs a handful of table lookups.
+ */
+public final class AttackDetector {
+    //worth of the king in an exchange, striking it ends every exchange
+    private static final int KING_WORTH = 100 * FigureType.QUEEN.getCentipawns();
+
+    //the figures in the order they are sent into an exchange, the least valuable first
+    private static final FigureType[] EXCHANGE_ORDER = Arrays.stream(FigureType.values())
+            .sorted(Comparator.comparingInt(AttackDetector::getExchangeWorth))
+            .toArray(FigureType[]::new);
+
+    private AttackDetector() {
+        throw new IllegalStateException("No Instances allowed!");
+    }
+
+    /**
+     * Checks if the given panel is attacked by any figure of the given player.
+     * An attack is a move, which would strike a figure on the panel, so pawn advances are no attacks.
+     *
+     * @param board   board to check
+     * @param panel   panel to check, 0 <= panel <= 63
+     * @param byColor color of the attacking player
+     * @return true if at least one figure of the player attacks the panel
+     */
+    public static boolean isSquareAttacked(FigureBoard board, int panel, Color byColor) {
+        final long occupied = board.getOccupied();
+
+        if ((LeaperAttacks.knightAttacks(panel) & board.getPieces(byColor, FigureType.KNIGHT)) != 0) {
+            return true;
+        }
+        //pawns attacking the panel stand where a pawn of the other color on the panel would strike
+        if ((LeaperAttacks.pawnAttacks(panel, Color.getEnemy(byColor)) & board.getPieces(byColor, FigureType.PAWN)) != 0) {
+            return true;
+        }
+        if ((LeaperAttacks.kingAttacks(panel) & board.getPieces(byColor, FigureType.KING)) != 0) {
+            return true;
+        }
+
+        final long queens = board.getPieces(byColor, FigureType.QUEEN);
+
+        if ((SlidingAttacks.rookAttacks(panel, occupied) & (board.getPieces(byColor, FigureType.ROOK) | queens)) != 0) {
+            return true;
+        }
+        return (SlidingAttacks.bishopAttacks(panel, occupied) & (board.getPieces(byColor, FigureType.BISHOP) | queens)) != 0;
+    }
+
+    /**
+     * Checks if the king of the given player is attacked.
+     *
+     * @param board  board to check
+     * @param player color of the king
+     * @return true if the king is in check, false if there is no king of the player
+     */
+    public static boolean isInCheck(FigureBoard board, Color player) {
+        final long king = board.getPieces(player, FigureType.KING);
+        return king != 0 && isSquareAttacked(board, Long.numberOfTrailingZeros(king), Color.getEnemy(player));
+    }
+
+    /**
+     * Returns all figures of the given player, which attack the given panel.
+     * The occupancy is given explicitly, so that figures can be removed virtually,
+     * e.g. to find attackers behind other attackers.
+     *
+     * @param board    board with the figures
+     * @param panel    attacked panel, 0 <= panel <= 63
+     * @param byColor  color of the attacking player
+     * @param occupied occupancy to use for the sliding figures
+     * @return bitboard of the panels of the attackers
+     */
+    public static long getAttackers(FigureBoard board, int panel, Color byColor, long occupied) {
+        final long queens = board.getPieces(byColor, FigureType.QUEEN);
+        final long rooks = board.getPieces(byColor, FigureType.ROOK) | queens;
+        final long bishops = board.getPieces(byColor, FigureType.BISHOP) | queens;
+
+        final long attackers = LeaperAttacks.knightAttacks(panel) & board.getPieces(byColor, FigureType.KNIGHT)
+                | LeaperAttacks.pawnAttacks(panel, Color.getEnemy(byColor)) & board.getPieces(byColor, FigureType.PAWN)
+                | LeaperAttacks.kingAttacks(panel) & board.getPieces(byColor, FigureType.KING)
+                | SlidingAttacks.rookAttacks(panel, occupied) & rooks
+                | SlidingAttacks.bishopAttacks(panel, occupied) & bishops;
+
+        return attackers & occupied;
+    }
+
+    /**
+     * Resolves the exchange a strike starts on its target panel, without making any move.
+     * Both players strike back with their least valuable attacker, figures behind attackers join,
+     * when the attacker in front of them left. Every player may stop the exchange, when striking on would lose.
+     * Pins and checks are ignored, promotions are counted only for the move itself.
+     * For a quiet move it tells, whether the moved figure can be struck without loss.
+     *
+     * @param board board before the move
+     * @param move  move packed by {@link PackedMove}, usually a strike
+     * @return the material the moving player wins by the exchange in centipawns, negative if it loses
+     */
+    public static int staticExchange(FigureBoard board, int move) {
+        final int to = PackedMove.getTo(move);
+        final FigureType promotion = PackedMove.getPromotion(move);
+
+        //gains[n] is the material won by the player striking n-th, if the exchange stops after that
+        final int[] gains = new int[32];
+        gains[0] = getExchangeWorth(PackedMove.getCaptured(move));
+
+        if (promotion != null) {
+            gains[0] += promotion.getCentipawns() - FigureType.PAWN.getCentipawns();
+        }
+
+        FigureType target = promotion == null ? PackedMove.getPiece(move) : promotion;
+        Color side = Color.getEnemy(PackedMove.getColor(move));
+
+        long occupied = board.getOccupied() & ~(1L << PackedMove.getFrom(move)) & ~(1L << PackedMove.getCapturedPanel(move));
+        int depth = 0;
+
+        while (depth < gains.length - 1) {
+            final long attackers = getAttackers(board, to, side, occupied);
+
+            if (attackers == 0) {
+                break;
+            }
+
+            FigureType attacker = null;
+            long attackerPanel = 0;
+
+            for (FigureType type : EXCHANGE_ORDER) {
+                final long pieces = attackers & board.getPieces(side, type);
+
+                if (pieces != 0) {
+                    attacker = type;
+                    attackerPanel = pieces & -pieces;
+                    break;
+                }
+            }
+
+            depth++;
+            gains[depth] = getExchangeWorth(target) - gains[depth - 1];
+
+            occupied &= ~attackerPanel;
+            target = attacker;
+            side = Color.getEnemy(side);
+        }
+
+        //from the last strike backwards, every player stops the exchange, if striking on is worse
+        for (; depth > 0; depth--) {
+            gains[depth - 1] = -Math.max(-gains[depth - 1], gains[depth]);
+        }
+        return gains[0];
+    }
+
+    private static int getExchangeWorth(FigureType type) {
+        if (type == null) {
+            return 0;
+        }
+        return type == FigureType.KING ? KING_WORTH : type.getCentipawns();
+    }
+
+    /**
+     * Returns the attack map of the given player: every panel, which is attacked by at least one of its figures.
+     *
+     * @param board   board with the figures
+     * @param byColor color of the attacking player
+     * @return bitboard of the attacked panels
+     */
+    public static long getAttackedPanels(FigureBoard board, Color byColor) {
+        final long occupied = board.getOccupied();
+        long attacked = 0;
+
+        long pieces = board.getOccupied(byColor);
+
+        while (pieces != 0) {
+            final int panel = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            attacked |= getAttacks(board.figureAt(Position.get(panel)).getType(), panel, byColor, occupied);
+        }
+        return attacked;
+    }
+
+    /**
+     * Returns the panels a figure of the given type and color on the given panel attacks.
+     *
+     * @param type     type of the figure
+     * @param panel    panel of the figure
+     * @param color    color of the figure
+     * @param occupied occupancy of the board
+     * @return bitboard of the attacked panels, including panels occupied by figures of the same color
+     */
+    public static long getAttacks(FigureType type, int panel, Color color, long occupied) {
+        switch (type) {
+            case PAWN:
+                return LeaperAttacks.pawnAttacks(panel, color);
+            case KNIGHT:
+                return LeaperAttacks.knightAttacks(panel);
+            case BISHOP:
+                return SlidingAttacks.bishopAttacks(panel, occupied);
+            case ROOK:
+                return SlidingAttacks.rookAttacks(panel, occupied);
+            case QUEEN:
+                return SlidingAttacks.queenAttacks(panel, occupied);
+            case KING:
+                return LeaperAttacks.kingAttacks(panel);
+            default:
+                throw new IllegalArgumentException("unknown figure type " + type);
+        }
+    }
+}
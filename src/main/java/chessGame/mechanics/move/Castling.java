@@ -0,0 +1,83 @@
+package chessGame.mechanics.move;
+
+import chessGame.mechanics.Color;
+import chessGame.mechanics.Figure;
+import chessGame.mechanics.FigureType;
+import chessGame.mechanics.Position;
+import chessGame.mechanics.board.FigureBoard;
+
+/**
+ * Castling rights as bitmask.
+ * <p>
+ * A right is lost as soon as a move starts or ends on the start panel of the king or of the
+ * corresponding rook, so the rights after a move are {@code rights & getMask(from) & getMask(to)}.
+ */
+public final class Castling {
+    public static final int WHITE_SHORT = 1;
+    public static final int WHITE_LONG = 2;
+    public static final int BLACK_SHORT = 4;
+    public static final int BLACK_LONG = 8;
+
+    public static final int NONE = 0;
+    public static final int ALL = WHITE_SHORT | WHITE_LONG | BLACK_SHORT | BLACK_LONG;
+
+    private static final int[] masks = new int[64];
+
+    static {
+        for (int panel = 0; panel < masks.length; panel++) {
+            masks[panel] = ALL;
+        }
+        masks[0] &= ~WHITE_LONG;
+        masks[4] &= ~(WHITE_SHORT | WHITE_LONG);
+        masks[7] &= ~WHITE_SHORT;
+        masks[56] &= ~BLACK_LONG;
+        masks[60] &= ~(BLACK_SHORT | BLACK_LONG);
+        masks[63] &= ~BLACK_SHORT;
+    }
+
+    private Castling() {
+        throw new IllegalStateException("No Instances allowed!");
+    }
+
+    /**
+     * @param panel panel a move starts or ends on
+     * @return the mask of the rights, which remain after a move touching the panel
+     */
+    public static int getMask(int panel) {
+        return masks[panel];
+    }
+
+    public static boolean canCastleShort(int rights, Color player) {
+        return (rights & (player == Color.WHITE ? WHITE_SHORT : BLACK_SHORT)) != 0;
+    }
+
+    public static boolean canCastleLong(int rights, Color player) {
+        return (rights & (player == Color.WHITE ? WHITE_LONG : BLACK_LONG)) != 0;
+    }
+
+    /**
+     * Derives the castling rights from the Board, assuming that kings and rooks
+     * on their start panels have not moved yet.
+     *
+     * @param board board to derive the rights from
+     * @return the castling rights
+     */
+    public static int fromBoard(FigureBoard board) {
+        int rights = NONE;
+
+        if (isAt(board, 4, FigureType.KING, Color.WHITE)) {
+            if (isAt(board, 7, FigureType.ROOK, Color.WHITE)) rights |= WHITE_SHORT;
+            if (isAt(board, 0, FigureType.ROOK, Color.WHITE)) rights |= WHITE_LONG;
+        }
+        if (isAt(board, 60, FigureType.KING, Color.BLACK)) {
+            if (isAt(board, 63, FigureType.ROOK, Color.BLACK)) rights |= BLACK_SHORT;
+            if (isAt(board, 56, FigureType.ROOK, Color.BLACK)) rights |= BLACK_LONG;
+        }
+        return rights;
+    }
+
+    private static boolean isAt(FigureBoard board, int panel, FigureType type, Color color) {
+        final Figure figure = board.figureAt(Position.get(panel));
+        return figure != null && figure.is(type) && figure.getColor() == color;
+    }
+}
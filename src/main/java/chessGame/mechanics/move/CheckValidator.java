@@ -3,338 +3,182 @@ package chessGame.mechanics.move;
 import chessGame.mechanics.Color;
 import chessGame.mechanics.Figure;
 import chessGame.mechanics.FigureType;
-import chessGame.mechanics.Position;
-import chessGame.mechanics.board.Board;
-
-import java.util.*;
-
-import static chessGame.mechanics.FigureType.*;
+import chessGame.mechanics.board.FigureBoard;
 
 /**
- *
+ * Decides the legality of pseudo legal moves of a player without making them.
+ * <p>
+ * On creation the checkers of the king, the panels which resolve a single check (evasion mask)
+ * and the figures pinned to the king are computed once. Afterwards a move of a figure other than the king
+ * is legal, if it ends within the evasion mask and, for a pinned figure, on the line through king and figure.
+ * King moves, en passant and castling are checked with an attack query, as they change more than one panel
+ * on the lines to the king.
  */
-public class CheckValidator {
-
-    private final Figure figure;
-    private final Position figurePosition;
-    private final Board<Figure> board;
-    private final Map<FigureType, List<CheckItem>> map = new HashMap<>();
-    private List<Position> possibleFigurePositions;
-
-    public CheckValidator(Figure figure, Board<Figure> board) {
-        this.figure = figure;
-        this.board = board;
-        figurePosition = this.board.positionOf(figure);
-        init();
-    }
-
-    boolean isInvalidMove(PlayerMove move) {
-        if (move == null) {
-            return true;
-        }
-
-        if (move.getMainMove().isMoving(KING)) {
-            Position to = move.getMainMove().getTo();
-            return !possibleFigurePositions.contains(to);
-        } else {
-
-        }
-        return false;
-    }
-
-    private void init() {
-        possibleFigurePositions = getAllowedPositions(figure, board);
-        List<Figure> enemyFigures = board.getFigures(Color.getEnemy(figure.getColor()));
-
-
-        for (Figure enemyFigure : enemyFigures) {
-            CheckItem item = getCheckItem(enemyFigure);
-
-            if (item != null) {
-                map.computeIfAbsent(item.blocker, k -> new ArrayList<>()).add(item);
+public final class CheckValidator {
+    private static final long[][] between = new long[64][64];
+    private static final long[][] lines = new long[64][64];
+
+    static {
+        for (int first = 0; first < 64; first++) {
+            for (int second = 0; second < 64; second++) {
+                if (first == second) {
+                    continue;
+                }
+                final long firstBit = 1L << first;
+                final long secondBit = 1L << second;
+
+                if ((SlidingAttacks.rookAttacks(first, 0) & secondBit) != 0) {
+                    between[first][second] = SlidingAttacks.rookAttacks(first, secondBit) & SlidingAttacks.rookAttacks(second, firstBit);
+                    lines[first][second] = (SlidingAttacks.rookAttacks(first, 0) & SlidingAttacks.rookAttacks(second, 0)) | firstBit | secondBit;
+                } else if ((SlidingAttacks.bishopAttacks(first, 0) & secondBit) != 0) {
+                    between[first][second] = SlidingAttacks.bishopAttacks(first, secondBit) & SlidingAttacks.bishopAttacks(second, firstBit);
+                    lines[first][second] = (SlidingAttacks.bishopAttacks(first, 0) & SlidingAttacks.bishopAttacks(second, 0)) | firstBit | secondBit;
+                }
             }
         }
-
     }
 
-    private List<Position> getAllowedPositions(Figure figure, Board<Figure> board) {
-        return new ArrayList<>();
-    }
-
-    private CheckItem getCheckItem(Figure figure) {
-
-        //should never be not on Board<Figure>
-        Position position = board.positionOf(figure);
+    private final FigureBoard board;
+    private final Color enemy;
+    private final int kingPanel;
+    private final long occupied;
+    private final long checkers;
+    private final long evasionMask;
+    private final long pinned;
 
-        CheckItem result = null;
+    public CheckValidator(FigureBoard board, Color player) {
+        final Figure king = board.getKing(player.isWhite());
 
-        //can only move one field forward, except in start position, where he can move two fields forward, or strike diagonal
-        if (figure.is(PAWN)) {
-            result = removePawnPosition(figure, position);
-
-            //rook can only move vertical or horizontal in two directions
-        } else if (figure.is(ROOK)) {
-            CheckItem item = getHorizontal(8, figure, position);
-            CheckItem vertical = getVertical(8, figure, position);
-
-            result = item == null ? vertical : item;
-
-            //knight can jump, always two fields vertical/horizontal and one in the other (if two in vertical, then one in horizontal)
-        } else if (figure.is(KNIGHT)) {
-            removeKnightPositions(figure, position);
-
-            //bishop can only move diagonal in four directions
-        } else if (figure.is(BISHOP)) {
-            result = getDiagonal(8, figure, position);
-
-            //queen moves vertical/horizontal and diagonal in all directions, excluding jumping
-        } else if (figure.is(QUEEN)) {
-
-            CheckItem horizontal = getHorizontal(8, figure, position);
-            CheckItem vertical = getVertical(8, figure, position);
-            CheckItem diagonal = getDiagonal(8, figure, position);
-
-            result = horizontal == null ? vertical == null ? diagonal : vertical : horizontal;
-            //can move to all adjacent fields
-        } else if (figure.is(KING)) {
-
-            getHorizontal(1, figure, position);
-            getVertical(1, figure, position);
-            getDiagonal(1, figure, position);
-        } else {
-            //should never reach here
-            result = null;
+        //king shall never be null
+        if (king == null) {
+            throw new IllegalStateException("no king for " + player);
         }
-        return result;
-    }
-
-    private CheckItem getDiagonal(int max, Figure figure, Position position) {
-        List<Position> positions = new ArrayList<>();
 
-        int panel = position.getPanel();
-        int column = position.getColumn();
-
-        boolean rightForward = true;
-        boolean leftForward = true;
-        boolean rightBackward = true;
-        boolean leftBackward = true;
-
-        for (int i = 1; i < max + 1; i++) {
-            int rightUpLeftDownAddend = 9 * i;
-            int leftUpRightDownAddend = 7 * i;
-
-            if (leftBackward) {
-                leftBackward = column != 1 && isValid(figure, positions, panel - rightUpLeftDownAddend, 1);
-            }
-            if (rightBackward) {
-                rightBackward = column != 8 && isValid(figure, positions, panel - leftUpRightDownAddend, 8);
-            }
-            if (rightForward) {
-                rightForward = column != 8 && isValid(figure, positions, panel + rightUpLeftDownAddend, 8);
-            }
-            if (leftForward) {
-                leftForward = column != 1 && isValid(figure, positions, panel + leftUpRightDownAddend, 1);
-            }
+        this.board = board;
+        this.enemy = Color.getEnemy(player);
+        this.kingPanel = board.positionOf(king).getPanel();
+        this.occupied = board.getOccupied();
+        this.checkers = AttackDetector.getAttackers(board, kingPanel, enemy, occupied);
+
+        if (checkers == 0) {
+            evasionMask = -1L;
+        } else if (Long.bitCount(checkers) == 1) {
+            //capture the checker or block its line to the king
+            evasionMask = checkers | between[kingPanel][Long.numberOfTrailingZeros(checkers)];
+        } else {
+            //only the king can escape a double check
+            evasionMask = 0;
         }
-        return null;
+        this.pinned = computePinned(board.getOccupied(player));
     }
 
-    private boolean isValid(Figure figure, List<Position> positions, int newPanel, int limit) {
-        if (Position.isInBoard(newPanel)) {
-            Position newPosition = Position.get(newPanel);
-
-            if (newPosition.getColumn() == limit) {
-                addPosition(positions, figure, newPosition);
-                return false;
-            } else {
-                return addPosition(positions, figure, newPosition);
-            }
-        }
-        return true;
+    /**
+     * Returns the panels strictly between two panels on the same row, column or diagonal.
+     *
+     * @param first  first panel
+     * @param second second panel
+     * @return the panels between, or 0 if the panels are not on a common line
+     */
+    static long between(int first, int second) {
+        return between[first][second];
     }
 
-    private CheckItem getHorizontal(int max, Figure figure, Position position) {
-        List<Position> positions = new ArrayList<>();
-
-        int panel = position.getPanel();
-        int column = position.getColumn();
-
-        boolean left = true;
-        boolean right = true;
-
-        for (int addend = 1; addend < max + 1; addend++) {
-            if (left) {
-                left = column != 1 && isValid(figure, positions, panel - addend, 1);
-            }
-            if (right) {
-                right = column != 8 && isValid(figure, positions, panel + addend, 8);
-            }
-        }
-        return null;
+    /**
+     * Returns the complete row, column or diagonal through two panels.
+     *
+     * @param first  first panel
+     * @param second second panel
+     * @return the line through both panels, or 0 if the panels are not on a common line
+     */
+    static long line(int first, int second) {
+        return lines[first][second];
     }
 
-    private CheckItem getVertical(int max, Figure figure, Position position) {
-        List<Position> positions = new ArrayList<>();
-
-        int panel = position.getPanel();
-        int row = position.getRow();
-
-        boolean backward = true;
-        boolean forward = true;
-
-        for (int i = 1; i < max + 1; i++) {
-            int verticalAddend = 8 * i;
-            if (backward) {
-                backward = row != 1 && isValid(figure, positions, panel - verticalAddend, 0);
-            }
-            if (forward) {
-                forward = row != 8 && isValid(figure, positions, panel + verticalAddend, 0);
-            }
-        }
-        return null;
+    public boolean isInCheck() {
+        return checkers != 0;
     }
 
-    private void removeKnightPositions(Figure figure, Position position) {
-        int panel = position.getPanel();
-        int column = position.getColumn();
-
-        if (column < 7 && column > 2) {
-            //left up down
-            knightJump(figure, panel, 6, 10);
-            //right up down
-            knightJump(figure, panel, 10, 6);
-
-            //up down left
-            knightJump(figure, panel, 15, 17);
-            //up down right
-            knightJump(figure, panel, 17, 15);
-
-        } else if (column == 1) {
-            //right up down
-            knightJump(figure, panel, 10, 6);
-            //up down right
-            knightJump(figure, panel, 17, 15);
-
-        } else if (column == 2) {
-            //right up down
-            knightJump(figure, panel, 10, 6);
-            //up down left
-            knightJump(figure, panel, 15, 17);
-            //up down right
-            knightJump(figure, panel, 17, 15);
-
-        } else if (column == 8) {
-            //left up down
-            knightJump(figure, panel, 6, 10);
-            //up down left
-            knightJump(figure, panel, 15, 17);
-
-        } else if (column == 7) {
-            //left up down
-            knightJump(figure, panel, 6, 10);
-            //up down left
-            knightJump(figure, panel, 15, 17);
-            //up down right
-            knightJump(figure, panel, 17, 15);
-        }
+    public long getCheckers() {
+        return checkers;
     }
 
-    private void knightJump(Figure figure, int panel, int up, int down) {
-        isValid(figure, new ArrayList<>(), panel - down, 0);
-        isValid(figure, new ArrayList<>(), panel + up, 0);
+    public long getPinned() {
+        return pinned;
     }
 
-    private CheckItem removePawnPosition(Figure figure, Position positionOf) {
-        final List<Position> positions = new ArrayList<>();
-
-        int panel = positionOf.getPanel();
-
-        final int newPanel;
-        final int currentRow = positionOf.getRow();
-        final int currentColumn = positionOf.getColumn();
+    /**
+     * Returns the panels a figure other than the king on the given panel may move to
+     * without leaving the own king in check. En passant needs to be checked separately.
+     *
+     * @param from panel of the figure
+     * @return mask of the allowed target panels
+     */
+    public long getTargetMask(int from) {
+        long mask = evasionMask;
 
-        if (figure.isWhite()) {
-
-            //moving two rows in one move, only if is at start position
-            if (currentRow == 2 && board.isEmptyAt(Position.get(panel + 8))) {
-                final Position position = Position.get(panel + 16);
-
-                if (board.isEmptyAt(position)) {
-                    positions.add(position);
-                }
-            }
-
-            addDiagonalStrike(currentColumn, positions, panel + 9, figure);
-            addDiagonalStrike(currentColumn, positions, panel + 7, figure);
-            newPanel = panel + 8;
-
-        } else {
-            newPanel = panel - 8;
-
-            //moving two rows in one move, only if is at start position
-            if (currentRow == 7 && board.isEmptyAt(Position.get(panel - 8))) {
-                final Position position = Position.get(panel - 16);
-
-                if (board.isEmptyAt(position)) {
-                    positions.add(position);
-                }
-            }
-            addDiagonalStrike(currentColumn, positions, panel - 9, figure);
-            addDiagonalStrike(currentColumn, positions, panel - 7, figure);
+        if ((pinned & (1L << from)) != 0) {
+            mask &= lines[kingPanel][from];
         }
-
-        //the pawn step one row forward in one direction
-        if (Position.isInBoard(newPanel)) {
-            Position position = Position.get(newPanel);
-            final Figure boardFigure = board.figureAt(position);
-
-            if (boardFigure == null) {
-                positions.add(position);
+        return mask;
+    }
+
+    /**
+     * Checks if the king may step to the given panel, i.e. if it is not attacked after the king left its panel.
+     * The king is removed from the occupancy, so that it does not shadow its own panel from a slider.
+     *
+     * @param to target panel of the king
+     * @return true if the panel is not attacked
+     */
+    public boolean isSafeForKing(int to) {
+        return AttackDetector.getAttackers(board, to, enemy, occupied & ~(1L << kingPanel)) == 0;
+    }
+
+    /**
+     * Checks if the given pseudo legal move leaves the own king unattacked.
+     * Castling moves are only checked for the target panel of the king and to not castle out of check.
+     *
+     * @param move packed move of the player this validator was created for
+     * @return true if the move is legal
+     */
+    public boolean isLegal(int move) {
+        final int from = PackedMove.getFrom(move);
+        final int to = PackedMove.getTo(move);
+
+        if (PackedMove.getPiece(move) == FigureType.KING) {
+            if (PackedMove.isCastling(move) && checkers != 0) {
+                return false;
             }
+            return isSafeForKing(to);
         }
-        return null;
-    }
 
-    private boolean addPosition(Collection<Position> positions, Figure figure, Position newPosition) {
-        final Figure boardFigure = board.figureAt(newPosition);
-
-        if (boardFigure == null) {
-            positions.add(newPosition);
-            return true;
-        } else {
-            if (!boardFigure.getColor().equals(figure.getColor())) {
-                positions.add(newPosition);
-            }
-            return false;
+        if (PackedMove.isEnPassant(move)) {
+            //two pawns leave the row of the king at once, which no mask describes
+            final long after = (occupied & ~(1L << from) & ~(1L << PackedMove.getCapturedPanel(move))) | (1L << to);
+            return AttackDetector.getAttackers(board, kingPanel, enemy, after) == 0;
         }
+        return (getTargetMask(from) & (1L << to)) != 0;
     }
 
-    private boolean checkEdgeTrespassing(int column, Position newPosition) {
-        int newColumn = newPosition.getColumn();
-        return column == 1 && (newColumn == 7 || newColumn == 8) || column == 8 && (newColumn == 1 || newColumn == 2);
-    }
+    private long computePinned(long own) {
+        final long queens = board.getPieces(enemy, FigureType.QUEEN);
+
+        //enemy sliders, which would attack the king on an empty board
+        long snipers = SlidingAttacks.rookAttacks(kingPanel, 0) & (board.getPieces(enemy, FigureType.ROOK) | queens)
+                | SlidingAttacks.bishopAttacks(kingPanel, 0) & (board.getPieces(enemy, FigureType.BISHOP) | queens);
 
-    private void addDiagonalStrike(int currentColumn, List<Position> positions, int panel, Figure figure) {
-        if (Position.isInBoard(panel)) {
-            final Position position = Position.get(panel);
+        long result = 0;
 
-            //check if strike goes over the edge
-            if (checkEdgeTrespassing(currentColumn, position)) return;
+        while (snipers != 0) {
+            final int sniper = Long.numberOfTrailingZeros(snipers);
+            snipers &= snipers - 1;
 
-            final Figure leftFigure = board.figureAt(position);
+            final long blockers = between[kingPanel][sniper] & occupied;
 
-            if ((leftFigure != null && leftFigure.getColor() != figure.getColor())) {
-                positions.add(position);
+            //exactly one own figure between sniper and king
+            if (Long.bitCount(blockers) == 1 && (blockers & own) != 0) {
+                result |= blockers;
             }
         }
-    }
-
-    private static class CheckItem {
-        private FigureType threat;
-        private Position threatPosition;
-        private List<Position> unblocked = new ArrayList<>();
-        private FigureType blocker = null;
-        private Position blockerPosition = null;
-        private List<Position> blocked = new ArrayList<>();
+        return result;
     }
 }
@@ -0,0 +1,145 @@
+package chessGame.mechanics.move;
+
+import chessGame.mechanics.Color;
+import chessGame.mechanics.Figure;
+import chessGame.mechanics.game.FenLoader;
+import chessGame.mechanics.game.Game;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Differential test of the {@link MoveGenerator} implementations of {@link GeneratorType}.
+ * <p>
+ * Plays random games and compares in every position the legal moves, the strikes and the check state
+ * of the player at move, as generated by each implementation. The first difference is printed with the
+ * position as FEN and ends the run with a non zero exit code.
+ * <p>
+ * Usage: {@code GeneratorCrossCheck [games] [maxPlies] [seed]}
+ * <p>
+ * The defaults of 20 games with at most 200 plies and the seed {@value #DEFAULT_SEED} make the run repeatable,
+ * so it serves as a check next to the perft suite: it exits with 0 only if all generators agree.
+ */
+public final class GeneratorCrossCheck {
+    static final long DEFAULT_SEED = 1;
+
+    private final GeneratorType[] types;
+    private final Random random;
+
+    private long positions;
+
+    GeneratorCrossCheck(GeneratorType[] types, long seed) {
+        this.types = types;
+        this.random = new Random(seed);
+    }
+
+    public static void main(String[] args) {
+        final int games = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        final int maxPlies = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        final long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+
+        System.out.println("seed " + seed);
+
+        final GeneratorCrossCheck check = new GeneratorCrossCheck(GeneratorType.values(), seed);
+        final long nanos = System.nanoTime();
+
+        for (int game = 0; game < games; game++) {
+            final String difference = check.playGame(maxPlies);
+
+            if (difference != null) {
+                System.out.println("game " + game + ": " + difference);
+                System.exit(1);
+            }
+        }
+        System.out.println(check.positions + " positions in " + games + " games identical for all generators in "
+                + (System.nanoTime() - nanos) / 1_000_000 + " ms");
+    }
+
+    /**
+     * Plays one random game from the start position.
+     *
+     * @param maxPlies maximum number of plies of the game
+     * @return description of the first difference, or null if there was none
+     */
+    String playGame(int maxPlies) {
+        final Game game = FenLoader.load(FenLoader.START);
+        final MoveList moves = new MoveList();
+
+        for (int ply = 0; ply < maxPlies; ply++) {
+            positions++;
+
+            final String difference = compare(game);
+
+            if (difference != null) {
+                return difference;
+            }
+
+            MoveForGenerator.getAllowedMoves(game.getAtMoveColor(), game, moves);
+
+            //mate or stalemate
+            if (moves.isEmpty()) {
+                break;
+            }
+            game.makeMove(moves.get(random.nextInt(moves.size())));
+        }
+        return null;
+    }
+
+    private String compare(Game game) {
+        final Color player = game.getAtMoveColor();
+        final Figure king = game.getBoard().getKing(player.isWhite());
+
+        final MoveGenerator reference = types[0].create();
+
+        final Set<Integer> referenceMoves = pack(reference.getAllowedMoves(player, game));
+        final Set<Integer> referenceStrikes = pack(reference.getStrikes(game, player));
+        final boolean referenceCheck = reference.isInCheck(king, game.getBoard());
+
+        for (int index = 1; index < types.length; index++) {
+            final MoveGenerator generator = types[index].create();
+
+            final Set<Integer> moves = pack(generator.getAllowedMoves(player, game));
+            if (!moves.equals(referenceMoves)) {
+                return describe("allowed moves", types[index], referenceMoves, moves, game);
+            }
+
+            final Set<Integer> strikes = pack(generator.getStrikes(game, player));
+            if (!strikes.equals(referenceStrikes)) {
+                return describe("strikes", types[index], referenceStrikes, strikes, game);
+            }
+
+            if (generator.isInCheck(king, game.getBoard()) != referenceCheck) {
+                return types[index] + " differs from " + types[0] + " in check state " + referenceCheck + " at " + FenLoader.toFen(game);
+            }
+        }
+        return null;
+    }
+
+    private String describe(String kind, GeneratorType type, Set<Integer> expected, Set<Integer> actual, Game game) {
+        return type + " differs from " + types[0] + " in " + kind + " at " + FenLoader.toFen(game)
+                + ", missing " + readable(expected, actual) + ", additional " + readable(actual, expected);
+    }
+
+    private static Set<String> readable(Set<Integer> moves, Set<Integer> without) {
+        Set<String> result = new TreeSet<>();
+
+        for (Integer move : moves) {
+            if (!without.contains(move)) {
+                result.add(PackedMove.toString(move));
+            }
+        }
+        return result;
+    }
+
+    private static Set<Integer> pack(List<PlayerMove> moves) {
+        Set<Integer> result = new HashSet<>();
+
+        for (PlayerMove move : moves) {
+            result.add(PackedMove.encode(move));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,27 @@
+package chessGame.mechanics.move;
+
+import java.util.function.Supplier;
+
+/**
+ * The available {@link MoveGenerator} implementations, which a Game can generate its moves with.
+ */
+public enum GeneratorType {
+    FOR(MoveForGenerator::new),
+
+    STREAM(MoveStreamGenerator::new),;
+
+    private final Supplier<MoveGenerator> supplier;
+
+    GeneratorType(Supplier<MoveGenerator> supplier) {
+        this.supplier = supplier;
+    }
+
+    /**
+     * Creates a new MoveGenerator of this type.
+     *
+     * @return a new MoveGenerator, not null
+     */
+    public MoveGenerator create() {
+        return supplier.get();
+    }
+}
@@ -0,0 +1,72 @@
+package chessGame.mechanics.move;
+
+import chessGame.mechanics.Color;
+
+/**
+ * Precomputed attack tables for the figures, which do not slide (Knight, King and the strikes of a Pawn).
+ * <p>
+ * The targets of these figures depend only on their panel, so they are computed once for every panel
+ * at class-load time and a lookup is a single array access.
+ * <p>
+ * All masks use the panel numbering of {@link chessGame.mechanics.Position}, bit {@code n} is panel {@code n}.
+ */
+public final class LeaperAttacks {
+    private static final long COLUMN_A = 0x0101010101010101L;
+    private static final long COLUMN_B = COLUMN_A << 1;
+    private static final long COLUMN_G = COLUMN_A << 6;
+    private static final long COLUMN_H = COLUMN_A << 7;
+
+    private static final long[] knightAttacks = new long[64];
+    private static final long[] kingAttacks = new long[64];
+    private static final long[] whitePawnAttacks = new long[64];
+    private static final long[] blackPawnAttacks = new long[64];
+
+    static {
+        for (int panel = 0; panel < 64; panel++) {
+            final long bit = 1L << panel;
+
+            //shifting over the edge of the board would wrap into the next row
+            final long oneColumn = ((bit >>> 1) & ~COLUMN_H) | ((bit << 1) & ~COLUMN_A);
+            final long twoColumns = ((bit >>> 2) & ~(COLUMN_G | COLUMN_H)) | ((bit << 2) & ~(COLUMN_A | COLUMN_B));
+
+            knightAttacks[panel] = oneColumn << 16 | oneColumn >>> 16 | twoColumns << 8 | twoColumns >>> 8;
+
+            final long row = bit | oneColumn;
+            kingAttacks[panel] = (row | (row << 8) | (row >>> 8)) & ~bit;
+
+            whitePawnAttacks[panel] = oneColumn << 8;
+            blackPawnAttacks[panel] = oneColumn >>> 8;
+        }
+    }
+
+    private LeaperAttacks() {
+        throw new IllegalStateException("No Instances allowed!");
+    }
+
+    /**
+     * @param panel panel of the knight, 0 <= panel <= 63
+     * @return the panels a knight on the given panel attacks
+     */
+    public static long knightAttacks(int panel) {
+        return knightAttacks[panel];
+    }
+
+    /**
+     * @param panel panel of the king, 0 <= panel <= 63
+     * @return the panels a king on the given panel attacks
+     */
+    public static long kingAttacks(int panel) {
+        return kingAttacks[panel];
+    }
+
+    /**
+     * Returns the panels a pawn of the given color strikes diagonally, not the panels it advances to.
+     *
+     * @param panel panel of the pawn, 0 <= panel <= 63
+     * @param color color of the pawn
+     * @return the panels a pawn on the given panel attacks
+     */
+    public static long pawnAttacks(int panel, Color color) {
+        return color == Color.WHITE ? whitePawnAttacks[panel] : blackPawnAttacks[panel];
+    }
+}
@@ -7,457 +7,311 @@ import chessGame.mechanics.game.Game;
 import java.util.*;
 
 /**
- *
+ * Generates the legal moves of a player.
+ * <p>
+ * The moves are generated as {@link PackedMove}s into a {@link MoveList}, which the caller provides,
+ * so that a search can generate moves without allocating move lists.
+ * As {@link MoveGenerator} it converts them to {@link PlayerMove}s for all other callers
+ * and remembers the legal moves of the positions in a {@link MoveCache}.
+ * <p>
+ * The static methods do not use the cache. Searches ask for strikes and quiet moves separately, while the cache
+ * holds all moves of a position, and a position they reach again is answered by their transposition tables,
+ * the perft by its {@link PerftTable}, before any move is generated. Callers with a {@link MoveList},
+ * which ask for the same positions repeatedly, use {@link #getCachedMoves(Color, Game, MoveList)}.
  */
-public class MoveForGenerator {
-    private static Map<BitSet, BitSet> cache = new HashMap<>();
+public class MoveForGenerator implements MoveGenerator {
+    private static final FigureType[] promotable = {FigureType.ROOK, FigureType.KNIGHT, FigureType.BISHOP, FigureType.QUEEN};
 
     /**
-     * Generates a List of {@link PlayerMove}s  for the player.
-     *
-     * @param player player to generate the moves for
-     * @param game   game to generate the moves from
-     * @return list of valid PlayerMoves for the player, or empty if none are available
+     * Panels between king and rook in the back row of white, which need to be empty for castling.
      */
-    public static List<PlayerMove> getAllowedMoves(Color player, Game game) {
-        if (player == null) return new ArrayList<>();
-
-        FigureBoard board = game.getBoard();
-       /* BitSet snapShot = game.getSnapShot();
-
-        if (game.getAtMoveColor() == player) {
-            BitSet set = cache.get(snapShot);
-
-            if (set != null) {
-                return MoveCoder.decode(set);
-            }
-
-        } else {
-            BitSet notAtMoveState = BoardEncoder.getAtMoveState(snapShot, player);
-            BitSet moves = cache.get(notAtMoveState);
+    private static final long LONG_CASTLING_EMPTY = 0x0EL;
+    private static final long SHORT_CASTLING_EMPTY = 0x60L;
 
-            if (moves == null) {
-                snapShot = notAtMoveState;
-            } else {
-                return MoveCoder.decode(moves);
-            }
-        }*/
-
-        final Map<Color, List<Figure>> playerListMap = board.getPlayerFigures();
-        final Figure king = board.getKing(player.isWhite());
-
-        //king shall never be null
-        if (king == null) {
-            throw new IllegalStateException();
-        }
-
-        final List<Figure> figures = playerListMap.get(player);
+    private final MoveCache cache;
 
-        List<PlayerMove> playerMoves = new ArrayList<>();
-
-        for (Figure figure : figures) {
-            List<PlayerMove> moves = mapToPlayerMove(figure, board, game);
-            playerMoves.addAll(moves);
-        }
+    public MoveForGenerator() {
+        this(new MoveCache());
+    }
 
-        playerMoves.removeIf(move -> isInvalidPlayerMove(king, move, board, game));
+    /**
+     * @param cache memory for the legal moves of already seen positions, may be shared between generators
+     */
+    public MoveForGenerator(MoveCache cache) {
+        this.cache = Objects.requireNonNull(cache);
+    }
 
-//        cache.put(snapShot, MoveCoder.encode(playerMoves));
-        return playerMoves;
+    public MoveCache getCache() {
+        return cache;
     }
 
-    public static List<PlayerMove> getStrikes(Game game, Color player) {
+    @Override
+    public List<PlayerMove> getAllowedMoves(Color player, Game game) {
         if (player == null) return new ArrayList<>();
 
-        FigureBoard board = game.getBoard();
-
-        final Map<Color, List<Figure>> playerListMap = board.getPlayerFigures();
-        final Figure king = board.getKing(player.isWhite());
-
-        //king shall never be null
-        if (king == null) {
-            throw new IllegalStateException();
-        }
-
-        final List<Figure> figures = playerListMap.get(player);
-
-        List<PlayerMove> playerMoves = new ArrayList<>();
-
-        for (Figure figure : figures) {
-            List<PlayerMove> moves = mapToStrikeMove(figure, board);
-            playerMoves.addAll(moves);
-        }
-
-        playerMoves.removeIf(move -> isInvalidPlayerMove(king, move, board, game));
-
-        return playerMoves;
+        MoveList moves = new MoveList();
+        getCachedMoves(player, game, moves);
+        return toPlayerMoves(moves);
     }
 
-    private static List<PlayerMove> mapToStrikeMove(Figure figure, FigureBoard board) {
-        final List<Position> allowedPositions = PositionGenerator.getAllowedPositions(figure, board);
-
-        //no playerMoves if no position is allowed
-        if (allowedPositions.isEmpty()) {
-            return new ArrayList<>();
-        }
-
-        List<PlayerMove> moves = new ArrayList<>();
-
-        for (Position position : allowedPositions) {
-            PlayerMove transform = transformStrike(figure, position, board);
-            if (transform != null) {
-                moves.add(transform);
-            }
-        }
-
-        if (figure.is(FigureType.PAWN)) {
-            List<PlayerMove> promotions = getPromotions(moves, figure);
-            moves.addAll(promotions);
-            return moves;
+    /**
+     * Fills the legal moves of the player into the given MoveList from the cache of this generator.
+     * On a miss they are generated by {@link #getAllowedMoves(Color, Game, MoveList)} and remembered.
+     *
+     * @param player player to get the moves for, not null
+     * @param game   game with the position
+     * @param moves  buffer to fill with the legal moves, cleared before
+     */
+    public void getCachedMoves(Color player, Game game, MoveList moves) {
+        if (!cache.get(player, game, moves)) {
+            getAllowedMoves(player, game, moves);
+            cache.put(player, game, moves);
         }
-
-        return moves;
     }
 
-    private static PlayerMove transformStrike(Figure figure, Position position, FigureBoard board) {
-        if (figure == null) {
-            return null;
-        }
-
-        final Figure boardFigure = board.figureAt(position);
-        Position from = board.positionOf(figure);
-
-        final Move move = new Move(from, position, figure.getType(), figure.getColor());
-
-        //add strike move if position is not empty and is an enemy piece
-        if (boardFigure != null && !boardFigure.getColor().equals(figure.getColor())) {
-
-            //a king shall never be defeated
-            if (boardFigure.is(FigureType.KING)) {
-                return null;
-            }
-
-            Move second = new Move(position, Position.Bench, boardFigure.getType(), boardFigure.getColor());
-            return new PlayerMove(move, second);
-        } else {
-            return null;
-        }
+    /**
+     * Generates the legal moves of the player into the given MoveList.
+     * The MoveList is cleared before.
+     *
+     * @param player player to generate the moves for, not null
+     * @param game   game to generate the moves from
+     * @param moves  buffer to fill with the legal moves
+     */
+    public static void getAllowedMoves(Color player, Game game, MoveList moves) {
+        generate(player, game, moves, true, true);
     }
 
-    private static List<PlayerMove> mapToPlayerMove(Figure figure, FigureBoard board, Game game) {
-        final List<Position> allowedPositions = PositionGenerator.getAllowedPositions(figure, board);
-
-        //no playerMoves if no position is allowed
-        if (allowedPositions.isEmpty()) {
-            return new ArrayList<>();
-        }
-
-        List<PlayerMove> moves = new ArrayList<>();
-
-        for (Position position : allowedPositions) {
-            PlayerMove transform = transform(figure, position, board);
-            if (transform != null) {
-                moves.add(transform);
-            }
-        }
-
-        if (figure.is(FigureType.KING)) {
-            Collection<PlayerMove> castling = getCastling(figure, board, game);
-            moves.addAll(castling);
-            return moves;
-        }
-
-        if (figure.is(FigureType.PAWN)) {
-
-            List<PlayerMove> promotions = getPromotions(moves, figure);
-            moves.addAll(promotions);
-            PlayerMove enPassant = getEnPassant(figure, game);
-            if (enPassant != null) {
-                moves.add(enPassant);
-            }
-            return moves;
-        }
+    @Override
+    public List<PlayerMove> getStrikes(Game game, Color player) {
+        if (player == null) return new ArrayList<>();
 
-        return moves;
+        MoveList moves = new MoveList();
+        getStrikes(game, player, moves);
+        return toPlayerMoves(moves);
     }
 
-    private static List<PlayerMove> getPromotions(List<PlayerMove> pawnMoves, Figure pawn) {
-        //get promotions within the rules of https://en.wikipedia.org/wiki/Promotion_(chess)
+    /**
+     * Generates the legal moves of the player, which strike an enemy figure, into the given MoveList.
+     * The MoveList is cleared before.
+     *
+     * @param game   game to generate the moves from
+     * @param player player to generate the moves for, not null
+     * @param moves  buffer to fill with the legal strikes
+     */
+    public static void getStrikes(Game game, Color player, MoveList moves) {
+        generate(player, game, moves, true, false);
+    }
 
-        List<PlayerMove> promotions = new ArrayList<>();
-        for (PlayerMove pawnMove : pawnMoves) {
-            if (checkPromotable(pawnMove)) {
-                List<Figure> promotable = getPromotable(pawn);
+    /**
+     * Generates the legal moves of the player, which strike no figure, into the given MoveList.
+     * These are the moves {@link #getStrikes(Game, Color, MoveList)} leaves out, castling
+     * and promotions without strike included. The MoveList is cleared before.
+     *
+     * @param game   game to generate the moves from
+     * @param player player to generate the moves for, not null
+     * @param moves  buffer to fill with the legal quiet moves
+     */
+    public static void getQuiets(Game game, Color player, MoveList moves) {
+        generate(player, game, moves, false, true);
+    }
 
-                for (Figure figure : promotable) {
-                    PlayerMove promotion = transformPromotion(pawnMove, figure);
-                    promotions.add(promotion);
+    /**
+     * Checks if the player has any legal move, without generating all of them.
+     * Stops at the first legal move, so a search may tell an ended game apart at the cost of a few masks.
+     * Castling is not looked at: a king, which may castle, may also step to the panel it passes.
+     *
+     * @param player player to check the moves of, not null
+     * @param game   game with the position
+     * @return true if the player has at least one legal move
+     */
+    public static boolean hasAllowedMove(Color player, Game game) {
+        final FigureBoard board = game.getBoard();
+        final CheckValidator validator = new CheckValidator(board, player);
+
+        //a king shall never be defeated
+        final long enemyKing = board.getPieces(Color.getEnemy(player), FigureType.KING);
+        final List<Figure> figures = board.getFigures(player);
+
+        for (int index = 0; index < figures.size(); index++) {
+            final Figure figure = figures.get(index);
+            final int from = board.positionOf(figure).getPanel();
+
+            long panels = PositionGenerator.getAllowedPanels(figure, board) & ~enemyKing;
+
+            if (figure.is(FigureType.KING)) {
+                while (panels != 0) {
+                    if (validator.isSafeForKing(Long.numberOfTrailingZeros(panels))) {
+                        return true;
+                    }
+                    panels &= panels - 1;
+                }
+            } else if ((panels & validator.getTargetMask(from)) != 0) {
+                return true;
+            } else if (figure.is(FigureType.PAWN) && game.getEnPassantPanel() >= 0) {
+                final MoveList enPassant = new MoveList(1);
+                addEnPassant(from, player, board, game, validator, enPassant);
+
+                if (!enPassant.isEmpty()) {
+                    return true;
                 }
             }
         }
-        return promotions;
+        return false;
     }
 
-    private static PlayerMove transformPromotion(PlayerMove move, Figure promoter) {
-        Move mainMove = move.getMainMove();
-        Move pawnMove = new Move(mainMove.getFrom(), Position.Promoted, mainMove.getFigure(), mainMove.getColor());
+    private static List<PlayerMove> toPlayerMoves(MoveList moves) {
+        List<PlayerMove> playerMoves = new ArrayList<>(moves.size());
 
-        final Move promotionMove = new Move(Position.Unknown, mainMove.getTo(), promoter.getType(), promoter.getColor());
-        return PlayerMove.PromotionMove(pawnMove, move.getSecondaryMove().orElse(null), promotionMove);
+        for (int index = 0; index < moves.size(); index++) {
+            playerMoves.add(PackedMove.decode(moves.get(index)));
+        }
+        return playerMoves;
     }
 
+    private static void generate(Color player, Game game, MoveList moves, boolean strikes, boolean quiets) {
+        moves.clear();
 
-    private static List<Figure> getPromotable(Figure pawn) {
-        List<Figure> figures = new ArrayList<>();
-        figures.add(FigureType.ROOK.create(pawn.getColor()));
-        figures.add(FigureType.KNIGHT.create(pawn.getColor()));
-        figures.add(FigureType.BISHOP.create(pawn.getColor()));
-        figures.add(FigureType.QUEEN.create(pawn.getColor()));
-        return figures;
-    }
+        final FigureBoard board = game.getBoard();
 
-    private static boolean checkPromotable(PlayerMove move) {
-        //is white and backRow of black
-        return (move.getMainMove().getTo().getRow() == 8 && move.getMainMove().isWhite()) ||
-                //is black und backRow of white
-                (move.getMainMove().getTo().getRow() == 1 && !move.getMainMove().isWhite());
-    }
-
-    private static PlayerMove getEnPassant(Figure pawn, Game game) {
-        //check for en passant move (https://en.wikipedia.org/wiki/En_passant)
-        Color enemy = Color.getEnemy(pawn.getColor());
-        final PlayerMove lastMove = game.getLastMove();
+        //pins and checks are computed once, so no move needs to be made to prove its legality
+        final CheckValidator validator = new CheckValidator(board, player);
 
-        //fast fail if there is no last move, last move is no normal move or a figure is defeated
-        if (lastMove == null || !lastMove.isNormal() || lastMove.isStrike()) {
-            return null;
-        }
+        final long enemies = board.getOccupied(Color.getEnemy(player));
+        final List<Figure> figures = board.getFigures(player);
 
-        Position enemyFrom = lastMove.getMainMove().getFrom();
-        Position enemyPawnPosition = lastMove.getMainMove().getTo();
+        //index based, as the figures are a view of the board
+        for (int index = 0; index < figures.size(); index++) {
+            final Figure figure = figures.get(index);
+            final int from = board.positionOf(figure).getPanel();
+            final boolean king = figure.is(FigureType.KING);
 
-        int diff = enemyFrom.getPanel() - enemyPawnPosition.getPanel();
+            long panels = PositionGenerator.getAllowedPanels(figure, board);
 
-        //a difference of 16 panels equals a move of 2 rows on the same column in either direction
-        if (Math.abs(diff) != 16) {
-            return null;
-        }
+            if (!quiets) {
+                panels &= enemies;
+            } else if (!strikes) {
+                panels &= ~enemies;
+            }
 
-        final int rowFrom = enemyFrom.getRow();
-        final int rowTo = enemyPawnPosition.getRow();
+            if (!king) {
+                panels &= validator.getTargetMask(from);
+            }
 
-        final Figure enemyPawn = game.getBoard().figureAt(enemyPawnPosition);
-        final int enemyColumn = enemyPawnPosition.getColumn();
+            while (panels != 0) {
+                final int to = Long.numberOfTrailingZeros(panels);
+                panels &= panels - 1;
 
-        Position from = game.getBoard().positionOf(pawn);
+                final Figure boardFigure = board.figureAt(Position.get(to));
 
-        //check if pawn, if pawn is of enemy, lastMove was no castling or promotionMove
-        //last move pawn moved two fields, enemy pawn and current pawn are side by side
-        //in same row and adjacent columns
-        if (enemyPawn.is(FigureType.PAWN)
-                && lastMove.getColor().equals(enemy)
-                && lastMove.isNormal()
-                && lastMove.getSecondaryMove().orElse(null) == null
-                && Math.abs(rowFrom - rowTo) == 2
-                && Math.abs(from.getColumn() - enemyColumn) == 1
-                && enemyPawnPosition.getRow() == from.getRow()) {
+                //a king shall never be defeated
+                if (boardFigure != null && boardFigure.is(FigureType.KING)) {
+                    continue;
+                }
 
+                if (king && !validator.isSafeForKing(to)) {
+                    continue;
+                }
+                final FigureType captured = boardFigure == null ? null : boardFigure.getType();
 
-            final int row;
-            if (pawn.isWhite()) {
-                row = 6;
-            } else {
-                row = 3;
+                if (figure.is(FigureType.PAWN)) {
+                    addPawnMove(from, to, captured, player, moves);
+                } else {
+                    moves.add(PackedMove.encode(from, to, figure.getType(), captured, null, player, 0));
+                }
             }
 
-            Position pawnTo = Position.get(row, enemyColumn);
-            final Move mainMove = new Move(from, pawnTo, pawn.getType(), pawn.getColor());
-            final Move strike = new Move(enemyPawnPosition, Position.Bench, enemyPawn.getType(), enemyPawn.getColor());
-
-            return new PlayerMove(mainMove, strike);
-        }
-        return null;
-    }
-
-    private static boolean isInvalidPlayerMove(Figure king, PlayerMove playerMove, FigureBoard board, Game game) {
-        if (playerMove == null) {
-            return true;
-        }
-
-        //throw error if king is not of same playerType as the one of the move
-        if (!playerMove.getMainMove().getColor().equals(king.getColor())) {
-            throw new IllegalStateException("generierter zug stimmt nicht mit Spieler des Königs überein!");
+            if (figure.is(FigureType.PAWN) && strikes) {
+                addEnPassant(from, player, board, game, validator, moves);
+            } else if (king && quiets) {
+                addCastling(from, player, board, game, validator, moves);
+            }
         }
-        MoveMaker.makeMove(playerMove, board, game);
-        Position position = board.positionOf(king);
-
-        boolean check = isInCheck(king, board, position);
-        MoveMaker.redo(board, game, playerMove);
-
-        return check;
-    }
-
-    public static boolean isInCheck(Figure figure, FigureBoard board) {
-        return isInCheck(figure, board, board.positionOf(figure));
     }
 
-    private static boolean isInCheck(Figure figure, FigureBoard board, Position position) {
-        Color player = figure.getColor();
-        Color enemy = Color.getEnemy(player);
-
-        boolean check = false;
+    private static void addPawnMove(int from, int to, FigureType captured, Color player, MoveList moves) {
+        final int row = to / 8;
 
-        for (Map.Entry<Figure, List<Position>> entry : allowedPositions(enemy, board).entrySet()) {
-            if (entry.getValue().contains(position)) {
-                check = true;
-                break;
+        //get promotions within the rules of https://en.wikipedia.org/wiki/Promotion_(chess)
+        if (row == 7 && player == Color.WHITE || row == 0 && player == Color.BLACK) {
+            for (FigureType promotion : promotable) {
+                moves.add(PackedMove.encode(from, to, FigureType.PAWN, captured, promotion, player, 0));
             }
+        } else {
+            //a difference of 16 panels equals a move of 2 rows on the same column in either direction
+            final int flags = Math.abs(to - from) == 16 ? PackedMove.DOUBLE_ADVANCE : 0;
+            moves.add(PackedMove.encode(from, to, FigureType.PAWN, captured, null, player, flags));
         }
-        return check;
     }
 
+    private static void addEnPassant(int from, Color player, FigureBoard board, Game game, CheckValidator validator, MoveList moves) {
+        //check for en passant move (https://en.wikipedia.org/wiki/En_passant)
+        final int target = game.getEnPassantPanel();
 
-    private static PlayerMove transform(Figure figure, Position position, FigureBoard board) {
-
-        if (figure == null) {
-            return null;
-        }
-
-        final Figure boardFigure = board.figureAt(position);
-        Position from = board.positionOf(figure);
-
-        if (from == Position.Unknown) {
-            return null;
+        //fast fail if the last move was no double advance of a pawn
+        if (target < 0) {
+            return;
         }
 
-        final Move move = new Move(from, position, figure.getType(), figure.getColor());
-        Move second = null;
+        final boolean white = player == Color.WHITE;
 
-        //add strike move if position is not empty and is an enemy piece
-        if (boardFigure != null && !boardFigure.getColor().equals(figure.getColor())) {
-
-            //a king shall never be defeated
-            if (boardFigure.is(FigureType.KING)) {
-                return null;
-            }
+        //the target lies behind the enemy pawn, seen from the pawn which strikes
+        final int targetRow = white ? 5 : 2;
+        final int row = from / 8;
 
-            second = new Move(position, Position.Bench, boardFigure.getType(), boardFigure.getColor());
+        if (target / 8 != targetRow
+                || row != (white ? targetRow - 1 : targetRow + 1)
+                || Math.abs(from % 8 - target % 8) != 1) {
+            return;
         }
-        return new PlayerMove(move, second);
-    }
-
-    private static Collection<PlayerMove> getCastling(Figure king, FigureBoard board, Game game) {
-        final List<PlayerMove> moves = new ArrayList<>();
-
-        boolean isWhite = king.isWhite();
 
-        boolean longCastling = game.getHistory().longCastling(isWhite);
-        boolean shortCastling = game.getHistory().shortCastling(isWhite);
+        final Figure enemyPawn = board.figureAt(Position.get(row * 8 + target % 8));
 
-        if (longCastling) {
-            PlayerMove castling = addCastling(king, board, 1);
-            if (castling != null) moves.add(castling);
+        if (enemyPawn == null || !enemyPawn.is(FigureType.PAWN) || enemyPawn.getColor() == player) {
+            return;
         }
-        if (shortCastling) {
-            PlayerMove castling = addCastling(king, board, 8);
-            if (castling != null) moves.add(castling);
-        }
-
-        return moves;
+        addIfLegal(PackedMove.encode(from, target, FigureType.PAWN, FigureType.PAWN, null, player, PackedMove.EN_PASSANT), validator, moves);
     }
 
-    private static PlayerMove addCastling(Figure king, FigureBoard board, int column) {
-        int row = king.isWhite() ? 1 : 8;
-        Position position = Position.get(row, column);
-        Figure figure = board.figureAt(position);
+    private static void addCastling(int kingPanel, Color player, FigureBoard board, Game game, CheckValidator validator, MoveList moves) {
+        //panel of the first column in the back row of the player
+        final int row = player == Color.WHITE ? 0 : 56;
+        final int rights = game.getCastlingRights() & (player == Color.WHITE
+                ? Castling.WHITE_SHORT | Castling.WHITE_LONG
+                : Castling.BLACK_SHORT | Castling.BLACK_LONG);
 
-        if (figure == null || !figure.is(FigureType.ROOK)) {
-            return null;
-//            throw new IllegalStateException("Expected a Rook at " + position);
+        //the king may not castle out of check
+        if (rights == Castling.NONE || kingPanel != row + 4 || validator.isInCheck()) {
+            return;
         }
 
-        final Position rookPosition = board.positionOf(figure);
-        final Position kingPosition = board.positionOf(king);
+        final long occupied = board.getOccupied();
+        final long rooks = board.getPieces(player, FigureType.ROOK);
+        final Color enemy = Color.getEnemy(player);
 
-        final int rookColumn = rookPosition.getColumn();
-        final int kingColumn = kingPosition.getColumn();
-        final Color enemy = Color.getEnemy(king.getColor());
-
-        List<Position> positionList = new ArrayList<>();
-
-        for (List<Position> positions : allowedPositions(enemy, board).values()) {
-            positionList.addAll(positions);
+        //the king may not castle through check, castling into check is rejected by the validator
+        if ((rights & (Castling.WHITE_LONG | Castling.BLACK_LONG)) != 0
+                && (rooks & 1L << row) != 0
+                && (occupied & LONG_CASTLING_EMPTY << row) == 0
+                && !AttackDetector.isSquareAttacked(board, row + 3, enemy)) {
+            addIfLegal(PackedMove.encode(kingPanel, row + 2, FigureType.KING, null, null, player, PackedMove.CASTLING), validator, moves);
         }
 
-        return addCastling(king, figure, rookPosition, kingPosition, rookColumn, kingColumn, positionList, board);
-    }
-
-    private static Map<Figure, List<Position>> allowedPositions(Color player, FigureBoard board) {
-        Map<Figure, List<Position>> map = new HashMap<>();
-
-        for (Figure figure : board.getFigures(player)) {
-            List<Position> allowedPositions = PositionGenerator.getAllowedPositions(figure, board);
-            map.put(figure, allowedPositions);
+        if ((rights & (Castling.WHITE_SHORT | Castling.BLACK_SHORT)) != 0
+                && (rooks & 1L << (row + 7)) != 0
+                && (occupied & SHORT_CASTLING_EMPTY << row) == 0
+                && !AttackDetector.isSquareAttacked(board, row + 5, enemy)) {
+            addIfLegal(PackedMove.encode(kingPanel, row + 6, FigureType.KING, null, null, player, PackedMove.CASTLING), validator, moves);
         }
-        return map;
     }
 
-
-    private static PlayerMove addCastling(Figure king, Figure rook, Position rookPosition, Position kingPosition, int rookColumn, int kingColumn, List<Position> enemyPositions, FigureBoard board) {
-        boolean legal;
-        int newKingColumn;
-        int newRookColumn;
-        final int row = kingPosition.getRow();
-
-        if (rookColumn > kingColumn) {
-            legal = checkEmpty(rookColumn, kingColumn, row, board);
-            newKingColumn = kingColumn + 2;
-            newRookColumn = newKingColumn - 1;
-
-            for (int i = kingColumn; i < newKingColumn; i++) {
-                final Position position = Position.get(row, i);
-
-                if (enemyPositions.contains(position)) {
-                    legal = false;
-                    break;
-                }
-            }
-        } else {
-            legal = checkEmpty(kingColumn, rookColumn, row, board);
-            newKingColumn = kingColumn - 2;
-            newRookColumn = newKingColumn + 1;
-
-            for (int i = kingColumn; i < newKingColumn; i--) {
-                final Position position = Position.get(row, i);
-
-                if (enemyPositions.contains(position)) {
-                    legal = false;
-                    break;
-                }
-            }
-        }
-        if (legal) {
-            final Position newKingPosition = Position.get(row, newKingColumn);
-            final Position newRookPosition = Position.get(rookPosition.getRow(), newRookColumn);
-
-            final Move kingMove = new Move(kingPosition, newKingPosition, king.getType(), king.getColor());
-            final Move rookMove = new Move(rookPosition, newRookPosition, rook.getType(), rook.getColor());
-            return PlayerMove.CastlingMove(kingMove, rookMove);
+    private static void addIfLegal(int move, CheckValidator validator, MoveList moves) {
+        if (validator.isLegal(move)) {
+            moves.add(move);
         }
-        return null;
     }
 
-    private static boolean checkEmpty(int rightColumn, int leftColumn, int row, FigureBoard board) {
-        boolean empty = true;
-
-        for (int column = leftColumn + 1; column < rightColumn; column++) {
-            final Position position = Position.get(row, column);
-
-            if (!board.isEmptyAt(position)) {
-                empty = false;
-                break;
-            }
-        }
-        return empty;
+    @Override
+    public boolean isInCheck(Figure king, FigureBoard board) {
+        return AttackDetector.isSquareAttacked(board, board.positionOf(king).getPanel(), Color.getEnemy(king.getColor()));
     }
 }
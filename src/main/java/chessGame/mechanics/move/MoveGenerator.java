@@ -0,0 +1,44 @@
+package chessGame.mechanics.move;
+
+import chessGame.mechanics.Color;
+import chessGame.mechanics.Figure;
+import chessGame.mechanics.board.FigureBoard;
+import chessGame.mechanics.game.Game;
+
+import java.util.List;
+
+/**
+ * Generates the legal moves of a position as {@link PlayerMove}s.
+ * <p>
+ * Every {@link Game} has its own generator, see {@link Game#getMoveGenerator()}.
+ * The available implementations are listed in {@link GeneratorType}.
+ */
+public interface MoveGenerator {
+
+    /**
+     * Generates the legal moves of the player.
+     *
+     * @param player player to generate the moves for
+     * @param game   game to generate the moves from
+     * @return list of legal PlayerMoves for the player, or empty if none are available
+     */
+    List<PlayerMove> getAllowedMoves(Color player, Game game);
+
+    /**
+     * Generates the legal moves of the player, which strike an enemy figure.
+     *
+     * @param game   game to generate the moves from
+     * @param player player to generate the moves for
+     * @return list of legal strikes for the player, or empty if none are available
+     */
+    List<PlayerMove> getStrikes(Game game, Color player);
+
+    /**
+     * Checks if the given king is attacked by any enemy figure.
+     *
+     * @param king  king to check
+     * @param board board the king stands on
+     * @return true if the king is in check
+     */
+    boolean isInCheck(Figure king, FigureBoard board);
+}
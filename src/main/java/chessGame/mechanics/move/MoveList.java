@@ -0,0 +1,130 @@
+package chessGame.mechanics.move;
+
+/**
+ * A reusable buffer of moves packed by {@link PackedMove}, with a score for each move to order them.
+ * <p>
+ * A search holds one MoveList per ply and lets the {@link MoveForGenerator} refill it at every node,
+ * so generating moves does not allocate anything.
+ */
+public final class MoveList {
+    /**
+     * More than the maximum number of legal moves in any chess position.
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final int[] moves;
+    private final int[] scores;
+    private int size;
+
+    public MoveList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public MoveList(int capacity) {
+        moves = new int[capacity];
+        scores = new int[capacity];
+    }
+
+    /**
+     * Creates one MoveList for each ply of a search.
+     *
+     * @param plies number of plies
+     * @return array of empty MoveLists
+     */
+    public static MoveList[] perPly(int plies) {
+        MoveList[] lists = new MoveList[plies];
+
+        for (int ply = 0; ply < plies; ply++) {
+            lists[ply] = new MoveList();
+        }
+        return lists;
+    }
+
+    public void add(int move) {
+        scores[size] = 0;
+        moves[size++] = move;
+    }
+
+    public int get(int index) {
+        return moves[index];
+    }
+
+    public int getScore(int index) {
+        return scores[index];
+    }
+
+    public void setScore(int index, int score) {
+        scores[index] = score;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public boolean contains(int move) {
+        return indexOf(move) >= 0;
+    }
+
+    public int indexOf(int move) {
+        for (int index = 0; index < size; index++) {
+            if (moves[index] == move) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes the move at the given index, keeping the order of the remaining moves.
+     *
+     * @param index index of the move to remove
+     */
+    public void remove(int index) {
+        final int moved = size - index - 1;
+
+        if (moved > 0) {
+            System.arraycopy(moves, index + 1, moves, index, moved);
+            System.arraycopy(scores, index + 1, scores, index, moved);
+        }
+        size--;
+    }
+
+    /**
+     * Swaps the move with the highest score from the given index onwards to the given index
+     * and returns it. Calling this for increasing indices iterates the moves ordered by score,
+     * without sorting the moves, which are never reached because of a cut off.
+     *
+     * @param index index to place the best remaining move at
+     * @return the best remaining move
+     */
+    public int pickNext(int index) {
+        int best = index;
+
+        for (int next = index + 1; next < size; next++) {
+            if (scores[next] > scores[best]) {
+                best = next;
+            }
+        }
+        swap(index, best);
+        return moves[index];
+    }
+
+    private void swap(int first, int second) {
+        final int move = moves[first];
+        final int score = scores[first];
+
+        moves[first] = moves[second];
+        scores[first] = scores[second];
+
+        moves[second] = move;
+        scores[second] = score;
+    }
+}
@@ -1,5 +1,6 @@
 package chessGame.mechanics.move;
 
+import chessGame.mechanics.Color;
 import chessGame.mechanics.Figure;
 import chessGame.mechanics.FigureType;
 import chessGame.mechanics.Position;
@@ -101,6 +102,92 @@ public abstract class MoveMaker {
     }
 
 
+    /**
+     * Makes a move packed by {@link PackedMove} on the board.
+     * It has the same effect as the equivalent {@link PlayerMove}, but creates no objects,
+     * except for the figure a pawn is promoted to.
+     *
+     * @param move  packed move, not {@link PackedMove#NONE}
+     * @param board board to make the move on
+     * @param game  game which holds bench and promoted figures of the board
+     */
+    public static void makeMove(int move, FigureBoard board, Game game) {
+        final Position from = Position.get(PackedMove.getFrom(move));
+        final Position to = Position.get(PackedMove.getTo(move));
+
+        if (PackedMove.isCastling(move)) {
+            moveFigure(from, to, FigureType.KING, board);
+            moveFigure(Position.get(PackedMove.getRookFrom(move)), Position.get(PackedMove.getRookTo(move)), FigureType.ROOK, board);
+            return;
+        }
+
+        if (PackedMove.isCapture(move)) {
+            final Position capturedPosition = Position.get(PackedMove.getCapturedPanel(move));
+            final Figure captured = board.figureAt(capturedPosition);
+
+            if (captured == null || captured.is(FigureType.KING)) {
+                throw new IllegalStateException("König darf nicht geschlagen werden! " + captured + " at " + capturedPosition);
+            }
+            board.setEmpty(capturedPosition);
+            game.addBench(captured);
+        }
+
+        if (PackedMove.isPromotion(move)) {
+            final Figure pawn = board.figureAt(from);
+            board.setEmpty(from);
+            game.addPromoted(pawn);
+            board.setFigure(PackedMove.getPromotion(move).create(PackedMove.getColor(move)), to);
+        } else {
+            moveFigure(from, to, PackedMove.getPiece(move), board);
+        }
+    }
+
+    /**
+     * Reverses a move made by {@link #makeMove(int, FigureBoard, Game)}.
+     * Moves need to be unmade in the reverse order they were made.
+     *
+     * @param move  packed move, which was the last one made
+     * @param board board to unmake the move on
+     * @param game  game which holds bench and promoted figures of the board
+     */
+    public static void unmakeMove(int move, FigureBoard board, Game game) {
+        final Position from = Position.get(PackedMove.getFrom(move));
+        final Position to = Position.get(PackedMove.getTo(move));
+        final Color color = PackedMove.getColor(move);
+
+        if (PackedMove.isCastling(move)) {
+            moveFigure(to, from, FigureType.KING, board);
+            moveFigure(Position.get(PackedMove.getRookTo(move)), Position.get(PackedMove.getRookFrom(move)), FigureType.ROOK, board);
+            return;
+        }
+
+        if (PackedMove.isPromotion(move)) {
+            board.setEmpty(to);
+            board.setFigure(game.removeFromPromoted(color), from);
+        } else {
+            moveFigure(to, from, PackedMove.getPiece(move), board);
+        }
+
+        if (PackedMove.isCapture(move)) {
+            final Figure captured = game.removeFromBench(Color.getEnemy(color), PackedMove.getCaptured(move));
+
+            if (captured == null) {
+                throw new NullPointerException("No " + PackedMove.getCaptured(move) + " on the bench");
+            }
+            board.setFigure(captured, Position.get(PackedMove.getCapturedPanel(move)));
+        }
+    }
+
+    private static void moveFigure(Position from, Position to, FigureType figureType, FigureBoard board) {
+        final Figure figure = board.figureAt(from);
+
+        if (figure == null || figure.getType() != figureType) {
+            throw new IllegalStateException("boardMap is not synched with its figure: different position, boardMap has: " + figure + " for " + figureType);
+        }
+        board.setEmpty(from);
+        board.setFigure(figure, to);
+    }
+
     /**
      * This Method reverses the Changes of a {@link PlayerMove} in reverse order.
      * First the mainMove, then the promotionMove and at last the secondaryMove
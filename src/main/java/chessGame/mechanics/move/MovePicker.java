@@ -0,0 +1,256 @@
+package chessGame.mechanics.move;
+
+import chessGame.mechanics.Color;
+import chessGame.mechanics.Figure;
+import chessGame.mechanics.FigureType;
+import chessGame.mechanics.Position;
+import chessGame.mechanics.board.FigureBoard;
+import chessGame.mechanics.game.Game;
+
+/**
+ * Hands out the legal moves of a position one by one in stages, for a search which may cut off early:
+ * <ol>
+ * <li>the move of the transposition table</li>
+ * <li>strikes, which do not lose material, the most valuable victim by the least valuable attacker first</li>
+ * <li>the killer moves, quiet moves which caused a cut off in a sibling node</li>
+ * <li>all remaining quiet moves, promotions first</li>
+ * <li>strikes, which lose material by {@link AttackDetector#staticExchange(FigureBoard, int)}, the smallest loss first</li>
+ * </ol>
+ * The moves of a stage are only generated, when the search asks for the first move of that stage,
+ * so a cut off by the transposition table move generates no moves at all.
+ * <p>
+ * A search holds one MovePicker per ply and initializes it with {@link #init(Game, int, int, int)} at every node.
+ */
+public final class MovePicker {
+
+    private enum Stage {
+        TABLE_MOVE,
+        GENERATE_STRIKES,
+        STRIKES,
+        FIRST_KILLER,
+        SECOND_KILLER,
+        GENERATE_QUIETS,
+        QUIETS,
+        LOSING_STRIKES,
+        DONE
+    }
+
+    private final MoveList strikes = new MoveList();
+    private final MoveList quiets = new MoveList();
+    private final MoveList losingStrikes = new MoveList();
+
+    private Game game;
+    private Stage stage = Stage.DONE;
+    private CheckValidator validator;
+    private int index;
+
+    private int tableMove;
+    private int firstKiller;
+    private int secondKiller;
+
+    /**
+     * Resets this picker for the position of the game.
+     *
+     * @param game         game with the position, the player at move moves
+     * @param tableMove    best move of the transposition table, or {@link PackedMove#NONE}
+     * @param firstKiller  most recent killer move of the ply, or {@link PackedMove#NONE}
+     * @param secondKiller older killer move of the ply, or {@link PackedMove#NONE}
+     */
+    public void init(Game game, int tableMove, int firstKiller, int secondKiller) {
+        this.game = game;
+        this.tableMove = tableMove;
+        this.firstKiller = firstKiller;
+        this.secondKiller = secondKiller;
+
+        stage = Stage.TABLE_MOVE;
+        validator = null;
+        index = 0;
+    }
+
+    /**
+     * Returns the next legal move. The position of the game needs to be the same as on the last call,
+     * moves made in between need to be unmade before.
+     *
+     * @return the next move packed by {@link PackedMove}, or {@link PackedMove#NONE} if there are no more moves
+     */
+    public int next() {
+        while (true) {
+            switch (stage) {
+                case TABLE_MOVE:
+                    stage = Stage.GENERATE_STRIKES;
+
+                    if (isPlayable(tableMove)) {
+                        return tableMove;
+                    }
+                    //the move will be generated, so it may not be skipped later
+                    tableMove = PackedMove.NONE;
+                    break;
+                case GENERATE_STRIKES:
+                    MoveForGenerator.getStrikes(game, game.getAtMoveColor(), strikes);
+                    scoreStrikes();
+                    index = 0;
+                    stage = Stage.STRIKES;
+                    break;
+                case STRIKES:
+                    while (index < strikes.size()) {
+                        final int move = strikes.pickNext(index++);
+
+                        if (move != tableMove) {
+                            return move;
+                        }
+                    }
+                    stage = Stage.FIRST_KILLER;
+                    break;
+                case FIRST_KILLER:
+                    stage = Stage.SECOND_KILLER;
+
+                    if (isKiller(firstKiller)) {
+                        return firstKiller;
+                    }
+                    firstKiller = PackedMove.NONE;
+                    break;
+                case SECOND_KILLER:
+                    stage = Stage.GENERATE_QUIETS;
+
+                    if (secondKiller != firstKiller && isKiller(secondKiller)) {
+                        return secondKiller;
+                    }
+                    secondKiller = PackedMove.NONE;
+                    break;
+                case GENERATE_QUIETS:
+                    MoveForGenerator.getQuiets(game, game.getAtMoveColor(), quiets);
+                    scoreQuiets();
+                    index = 0;
+                    stage = Stage.QUIETS;
+                    break;
+                case QUIETS:
+                    while (index < quiets.size()) {
+                        final int move = quiets.pickNext(index++);
+
+                        if (move != tableMove && move != firstKiller && move != secondKiller) {
+                            return move;
+                        }
+                    }
+                    index = 0;
+                    stage = Stage.LOSING_STRIKES;
+                    break;
+                case LOSING_STRIKES:
+                    while (index < losingStrikes.size()) {
+                        final int move = losingStrikes.pickNext(index++);
+
+                        if (move != tableMove) {
+                            return move;
+                        }
+                    }
+                    stage = Stage.DONE;
+                    break;
+                case DONE:
+                    return PackedMove.NONE;
+            }
+        }
+    }
+
+    /**
+     * Checks if the move returned last by {@link #next()} is a strike, which loses material by the static exchange.
+     * A search may skip such moves, where a deeper search is unlikely to make them good.
+     *
+     * @return true if the last move is a losing strike
+     */
+    public boolean isLosingStrike() {
+        return stage == Stage.LOSING_STRIKES;
+    }
+
+    private boolean isKiller(int move) {
+        return move != tableMove && !PackedMove.isCapture(move) && isPlayable(move);
+    }
+
+    /**
+     * Checks if a move, which was not generated for this position, is legal in it.
+     * Castling and en passant depend on the state of the game and are left to the generated stages.
+     */
+    private boolean isPlayable(int move) {
+        if (move == PackedMove.NONE || PackedMove.isCastling(move) || PackedMove.isEnPassant(move)) {
+            return false;
+        }
+
+        final Color player = game.getAtMoveColor();
+
+        if (PackedMove.getColor(move) != player) {
+            return false;
+        }
+
+        final FigureBoard board = game.getBoard();
+        final int from = PackedMove.getFrom(move);
+        final int to = PackedMove.getTo(move);
+
+        final Figure figure = board.figureAt(Position.get(from));
+
+        if (figure == null || figure.getColor() != player || figure.getType() != PackedMove.getPiece(move)) {
+            return false;
+        }
+
+        final Figure target = board.figureAt(Position.get(to));
+        final FigureType captured = target == null ? null : target.getType();
+
+        //the strike of the move needs to be the one on the board, which is never a king
+        if (captured != PackedMove.getCaptured(move) || captured == FigureType.KING) {
+            return false;
+        }
+
+        if ((PositionGenerator.getAllowedPanels(figure, board) & (1L << to)) == 0) {
+            return false;
+        }
+
+        if (figure.is(FigureType.PAWN)) {
+            final int row = to / 8;
+            final boolean promotion = row == 7 || row == 0;
+
+            if (promotion != PackedMove.isPromotion(move) || (Math.abs(to - from) == 16) != PackedMove.isDoubleAdvance(move)) {
+                return false;
+            }
+        }
+
+        if (validator == null) {
+            validator = new CheckValidator(board, player);
+        }
+        return validator.isLegal(move);
+    }
+
+    private void scoreStrikes() {
+        losingStrikes.clear();
+
+        for (int index = 0; index < strikes.size(); ) {
+            final int move = strikes.get(index);
+            final int victim = PackedMove.getCaptured(move).getCentipawns();
+            final int attacker = PackedMove.getPiece(move).getCentipawns();
+
+            //striking a figure worth at least the attacker can not lose material
+            if (attacker > victim) {
+                final int exchange = AttackDetector.staticExchange(game.getBoard(), move);
+
+                if (exchange < 0) {
+                    losingStrikes.add(move);
+                    losingStrikes.setScore(losingStrikes.size() - 1, exchange);
+                    strikes.remove(index);
+                    continue;
+                }
+            }
+
+            //most valuable victim first, the least valuable attacker breaks ties
+            int score = victim * 10 - attacker;
+
+            final FigureType promotion = PackedMove.getPromotion(move);
+            if (promotion != null) {
+                score += promotion.getCentipawns() * 10;
+            }
+            strikes.setScore(index++, score);
+        }
+    }
+
+    private void scoreQuiets() {
+        for (int index = 0; index < quiets.size(); index++) {
+            final FigureType promotion = PackedMove.getPromotion(quiets.get(index));
+            quiets.setScore(index, promotion == null ? 0 : promotion.getCentipawns());
+        }
+    }
+}
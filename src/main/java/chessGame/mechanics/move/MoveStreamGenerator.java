@@ -6,28 +6,26 @@ import chessGame.mechanics.board.FigureBoard;
 import chessGame.mechanics.game.Game;
 
 import java.util.*;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
- * Generates moves, which are allowed for the current state of the oard.
- * Has only the Method {@link #getAllowedMoves(Color, Game)}, which is accessible from outside the class.
+ * Generates moves, which are allowed for the current state of the board.
+ * Works on {@link PlayerMove}s with streams and proves the legality of each move by making it,
+ * which makes it a slow, but independent reference for other {@link MoveGenerator}s.
+ * <p>
+ * To stay independent it shares no tables with them: targets are found by walking the rays of each figure
+ * panel by panel and a panel is attacked, if it is one of the targets of an enemy figure.
  */
-public final class MoveStreamGenerator {
-
-    private MoveStreamGenerator() {
-        throw new IllegalStateException("No Instances Allowed");
-    }
-
-    /**
-     * Generates a List of {@link PlayerMove}s  for the player.
-     *
-     * @param player color the check for
-     * @param game game to generate the Moves from
-     * @return a list of allowed Moves, empty if none available
-     */
-    public static List<PlayerMove> getAllowedMoves(Color player, Game game) {
+public final class MoveStreamGenerator implements MoveGenerator {
+    //steps as pairs of row and column offsets
+    private static final int[][] STRAIGHT = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+    private static final int[][] DIAGONAL = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+    private static final int[][] ALL_SIDES = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}, {1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+    private static final int[][] JUMPS = {{1, 2}, {2, 1}, {2, -1}, {1, -2}, {-1, -2}, {-2, -1}, {-2, 1}, {-1, 2}};
+
+    @Override
+    public List<PlayerMove> getAllowedMoves(Color player, Game game) {
         if (player == null) return new ArrayList<>();
 
         FigureBoard board = game.getBoard();
@@ -40,7 +38,8 @@ public final class MoveStreamGenerator {
             throw new IllegalStateException();
         }
 
-        final List<Figure> figures = playerListMap.get(player);
+        //copied, as the figures of the board change while the moves are checked
+        final List<Figure> figures = new ArrayList<>(playerListMap.get(player));
 
         return figures.stream().
                 //flat maps all possible Moves of each figure into one stream
@@ -54,10 +53,10 @@ public final class MoveStreamGenerator {
     }
 
     private static Stream<? extends PlayerMove> mapToPlayerMove(Figure figure, FigureBoard board, Game game) {
-        final List<Position> allowedPositions = PositionGenerator.getAllowedPositions(figure, board);
+        final List<Position> allowedPositions = getTargets(figure, board, false);
 
-        //no playerMoves if no position is allowed
-        if (allowedPositions.isEmpty()) {
+        //no playerMoves if no position is allowed, except for a blocked pawn which may strike en passant
+        if (allowedPositions.isEmpty() && !figure.is(FigureType.PAWN)) {
             return new ArrayList<PlayerMove>().stream();
         }
 
@@ -71,6 +70,8 @@ public final class MoveStreamGenerator {
         if (figure.is(FigureType.PAWN)) {
             final List<PlayerMove> pawnMoves = allowedPositions.stream().map(position -> transform(figure, position, board)).filter(Objects::nonNull).collect(Collectors.toList());
             List<PlayerMove> promotions = getPromotions(pawnMoves, figure);
+            //a pawn reaching the back row needs to be promoted
+            pawnMoves.removeIf(MoveStreamGenerator::checkPromotable);
             pawnMoves.addAll(promotions);
             PlayerMove enPassant = getEnPassant(figure, game);
             if (enPassant != null) {
@@ -93,10 +94,11 @@ public final class MoveStreamGenerator {
         }
 
         MoveMaker.makeMove(playerMove, board, game);
-        boolean inCheck = isInCheck(king, board);
+        boolean inCheck = isKingAttacked(king, board);
         MoveMaker.redo(board, game, playerMove);
 
-        return inCheck;
+        //a move is only valid, if the own king is not in check afterwards
+        return !inCheck;
     }
 
     private static PlayerMove transform(Figure figure, Position position, FigureBoard board) {
@@ -129,8 +131,9 @@ public final class MoveStreamGenerator {
         final List<PlayerMove> moves = new ArrayList<>();
 
         Color kingPlayer = king.getColor();
-        boolean longCastling = game.getHistory().longCastling(kingPlayer.isWhite());
-        boolean shortCastling = game.getHistory().shortCastling(kingPlayer.isWhite());
+        int rights = game.getCastlingRights();
+        boolean longCastling = Castling.canCastleLong(rights, kingPlayer);
+        boolean shortCastling = Castling.canCastleShort(rights, kingPlayer);
 
         if (longCastling) {
             PlayerMove castling = addCastling(king, board, 1);
@@ -161,62 +164,162 @@ public final class MoveStreamGenerator {
 
     private static PlayerMove getEnPassant(Figure pawn, Game game) {
         //check for en passant move (https://en.wikipedia.org/wiki/En_passant)
-        final Color enemy = Color.getEnemy(pawn.getColor());
-        final PlayerMove lastMove = game.getLastMove();
+        final int target = game.getEnPassantPanel();
 
-        //fast fail if there is no last move, last move is no normal move or a figure is defeated
-        if (lastMove == null || !lastMove.isNormal() || lastMove.isStrike()) {
+        //fast fail if the last move was no double advance of a pawn
+        if (target < 0) {
             return null;
         }
 
-        Position enemyFrom = lastMove.getMainMove().getFrom();
-        Position enemyPawnPosition = lastMove.getMainMove().getTo();
+        final FigureBoard board = game.getBoard();
+        final Position pawnTo = Position.get(target);
+        final Position from = board.positionOf(pawn);
 
-        int diff = enemyFrom.getPanel() - enemyPawnPosition.getPanel();
+        //the target lies behind the enemy pawn, seen from the pawn which strikes
+        final int targetRow = pawn.isWhite() ? 6 : 3;
 
-        //a difference of 16 panels equals a move of 2 rows on the same column in either direction
-        if (Math.abs(diff) != 16) {
+        if (pawnTo.getRow() != targetRow
+                || from.getRow() != (pawn.isWhite() ? targetRow - 1 : targetRow + 1)
+                || Math.abs(from.getColumn() - pawnTo.getColumn()) != 1) {
             return null;
         }
 
-        final int rowFrom = enemyFrom.getRow();
-        final int rowTo = enemyPawnPosition.getRow();
+        final Position enemyPawnPosition = Position.get(from.getRow(), pawnTo.getColumn());
+        final Figure enemyPawn = board.figureAt(enemyPawnPosition);
+
+        if (enemyPawn == null || !enemyPawn.is(FigureType.PAWN) || enemyPawn.getColor() == pawn.getColor()) {
+            return null;
+        }
 
-        final Figure enemyPawn = game.getBoard().figureAt(enemyPawnPosition);
-        final int enemyColumn = enemyPawnPosition.getColumn();
+        final Move mainMove = new Move(from, pawnTo, pawn.getType(), pawn.getColor());
+        final Move strike = new Move(enemyPawnPosition, Position.Bench, enemyPawn.getType(), enemyPawn.getColor());
 
-        Position from = game.getBoard().positionOf(pawn);
+        return new PlayerMove(mainMove, strike);
+    }
 
-        //check if pawn, if pawn is of enemy, lastMove was no castling or promotionMove
-        //last move pawn moved two fields, enemy pawn and current pawn are side by side
-        //in same row and adjacent columns
-        if (enemyPawn.is(FigureType.PAWN)
-                && lastMove.getColor().equals(enemy)
-                && lastMove.isNormal()
-                && lastMove.getSecondaryMove().orElse(null) == null
-                && Math.abs(rowFrom - rowTo) == 2
-                && Math.abs(from.getColumn() - enemyColumn) == 1
-                && enemyPawnPosition.getRow() == from.getRow()) {
+    @Override
+    public boolean isInCheck(Figure king, FigureBoard board) {
+        return isKingAttacked(king, board);
+    }
 
+    private static boolean isKingAttacked(Figure king, FigureBoard board) {
+        return isAttacked(board.positionOf(king), Color.getEnemy(king.getColor()), board);
+    }
 
-            final int row;
-            if (pawn.isWhite()) {
-                row = 6;
-            } else {
-                row = 3;
-            }
+    private static boolean isAttacked(Position position, Color byColor, FigureBoard board) {
+        return board.getPlayerFigures().get(byColor).stream().anyMatch(figure -> getTargets(figure, board, true).contains(position));
+    }
 
-            Position pawnTo = Position.get(row, enemyColumn);
-            final Move mainMove = new Move(from, pawnTo, pawn.getType(), pawn.getColor());
-            final Move strike = new Move(enemyPawnPosition, Position.Bench, enemyPawn.getType(), enemyPawn.getColor());
+    /**
+     * Walks the panels a figure can reach, without looking at checks, castling or en passant.
+     *
+     * @param figure  figure on the board
+     * @param board   board of the figure
+     * @param attacks true to get the attacked panels instead: pawns attack both diagonals without advancing
+     *                and the first figure in the way is attacked, whatever its color
+     * @return the reachable or attacked positions
+     */
+    private static List<Position> getTargets(Figure figure, FigureBoard board, boolean attacks) {
+        final List<Position> targets = new ArrayList<>();
+        final Position position = board.positionOf(figure);
 
-            return new PlayerMove(mainMove, strike);
+        //abort if figure is not on this board
+        if (!position.isInBoard()) {
+            return targets;
+        }
+
+        switch (figure.getType()) {
+            case PAWN:
+                addPawnTargets(figure, board, position, attacks, targets);
+                break;
+            case KNIGHT:
+                addSteps(figure, board, position, JUMPS, 1, attacks, targets);
+                break;
+            case BISHOP:
+                addSteps(figure, board, position, DIAGONAL, 7, attacks, targets);
+                break;
+            case ROOK:
+                addSteps(figure, board, position, STRAIGHT, 7, attacks, targets);
+                break;
+            case QUEEN:
+                addSteps(figure, board, position, ALL_SIDES, 7, attacks, targets);
+                break;
+            case KING:
+                addSteps(figure, board, position, ALL_SIDES, 1, attacks, targets);
+                break;
+            default:
+                throw new IllegalArgumentException("unknown figure type " + figure.getType());
+        }
+        return targets;
+    }
+
+    private static void addSteps(Figure figure, FigureBoard board, Position from, int[][] steps, int range, boolean attacks, List<Position> targets) {
+        for (int[] step : steps) {
+            int row = from.getRow();
+            int column = from.getColumn();
+
+            for (int distance = 0; distance < range; distance++) {
+                row += step[0];
+                column += step[1];
+
+                if (row < 1 || row > 8 || column < 1 || column > 8) {
+                    break;
+                }
+                final Position position = Position.get(row, column);
+                final Figure boardFigure = board.figureAt(position);
+
+                if (boardFigure == null || attacks || boardFigure.getColor() != figure.getColor()) {
+                    targets.add(position);
+                }
+
+                //the ray ends at the first figure in the way
+                if (boardFigure != null) {
+                    break;
+                }
+            }
         }
-        return null;
     }
 
-    public static boolean isInCheck(Figure king, FigureBoard board) {
-        return !getCheckFigure(king, board, board.positionOf(king)).isEmpty();
+    private static void addPawnTargets(Figure pawn, FigureBoard board, Position from, boolean attacks, List<Position> targets) {
+        final int forward = pawn.isWhite() ? 1 : -1;
+        final int row = from.getRow() + forward;
+
+        //pawns never stand on the last row, only boards set up by hand may have them there
+        if (row < 1 || row > 8) {
+            return;
+        }
+
+        for (int column = from.getColumn() - 1; column <= from.getColumn() + 1; column += 2) {
+            if (column < 1 || column > 8) {
+                continue;
+            }
+            final Position position = Position.get(row, column);
+            final Figure boardFigure = board.figureAt(position);
+
+            if (attacks || boardFigure != null && boardFigure.getColor() != pawn.getColor()) {
+                targets.add(position);
+            }
+        }
+
+        if (attacks) {
+            return;
+        }
+        final Position step = Position.get(row, from.getColumn());
+
+        if (board.isEmptyAt(step)) {
+            targets.add(step);
+
+            //moving two rows in one move, only from the start row
+            final boolean startRow = from.getRow() == (pawn.isWhite() ? 2 : 7);
+
+            if (startRow) {
+                final Position doubleStep = Position.get(row + forward, from.getColumn());
+
+                if (board.isEmptyAt(doubleStep)) {
+                    targets.add(doubleStep);
+                }
+            }
+        }
     }
 
     private static PlayerMove addCastling(Figure king, FigureBoard board, int column) {
@@ -224,7 +327,7 @@ public final class MoveStreamGenerator {
         Position position = Position.get(row, column);
         Figure figure = board.figureAt(position);
 
-        if (figure == null || !figure.is(FigureType.ROOK)) {
+        if (figure == null || !figure.is(FigureType.ROOK) || figure.getColor() != king.getColor()) {
             return null;
 //            throw new IllegalStateException("Expected a Rook at " + position);
         }
@@ -234,14 +337,7 @@ public final class MoveStreamGenerator {
 
         final int rookColumn = rookPosition.getColumn();
         final int kingColumn = kingPosition.getColumn();
-        final Color enemy = Color.getEnemy(king.getColor());
-
-        final List<Position> enemyPositions = allowedPositions(enemy, board)
-                .values()
-                .stream()
-                .flatMap(Collection::stream)
-                .collect(Collectors.toList());
-        return addCastling(king, figure, rookPosition, kingPosition, rookColumn, kingColumn, enemyPositions, board);
+        return addCastling(king, figure, rookPosition, kingPosition, rookColumn, kingColumn, board);
     }
 
     private static List<Figure> getPromotable(Figure pawn) {
@@ -261,24 +357,8 @@ public final class MoveStreamGenerator {
         return PlayerMove.PromotionMove(pawnMove, move.getSecondaryMove().orElse(null), promotionMove);
     }
 
-    private static List<Figure> getCheckFigure(Figure figure, FigureBoard board, Position position) {
-        Color player = figure.getColor();
-        Color enemy = Color.getEnemy(player);
-        //gets possible positions per figure of enemy
-        return allowedPositions(enemy, board).
-                entrySet().
-                stream().
-                //check if position of figure is in possible position of enemy
-                        filter(entry -> entry.getValue().contains(position)).
-                        map(Map.Entry::getKey).
-                        collect(Collectors.toList());
-    }
-
-    private static Map<Figure, List<Position>> allowedPositions(Color player, FigureBoard board) {
-        return board.getPlayerFigures().get(player).stream().collect(Collectors.toMap(Function.identity(), figure -> PositionGenerator.getAllowedPositions(figure, board)));
-    }
-
-    private static PlayerMove addCastling(Figure king, Figure rook, Position rookPosition, Position kingPosition, int rookColumn, int kingColumn, List<Position> enemyPositions, FigureBoard board) {
+    private static PlayerMove addCastling(Figure king, Figure rook, Position rookPosition, Position kingPosition, int rookColumn, int kingColumn, FigureBoard board) {
+        final Color enemy = Color.getEnemy(king.getColor());
         boolean legal;
         int newKingColumn;
         int newRookColumn;
@@ -292,7 +372,7 @@ public final class MoveStreamGenerator {
             for (int i = kingColumn; i < newKingColumn; i++) {
                 final Position position = Position.get(row, i);
 
-                if (enemyPositions.contains(position)) {
+                if (isAttacked(position, enemy, board)) {
                     legal = false;
                     break;
                 }
@@ -302,10 +382,10 @@ public final class MoveStreamGenerator {
             newKingColumn = kingColumn - 2;
             newRookColumn = newKingColumn + 1;
 
-            for (int i = kingColumn; i < newKingColumn; i--) {
+            for (int i = kingColumn; i > newKingColumn; i--) {
                 final Position position = Position.get(row, i);
 
-                if (enemyPositions.contains(position)) {
+                if (isAttacked(position, enemy, board)) {
                     legal = false;
                     break;
                 }
@@ -343,7 +423,8 @@ public final class MoveStreamGenerator {
                 (move.getMainMove().getTo().getRow() == 1 && !move.getMainMove().isWhite());
     }
 
-    public static List<PlayerMove> getStrikes(Game game, Color player) {
+    @Override
+    public List<PlayerMove> getStrikes(Game game, Color player) {
         if (player == null) return new ArrayList<>();
 
         FigureBoard board = game.getBoard();
@@ -356,11 +437,12 @@ public final class MoveStreamGenerator {
             throw new IllegalStateException();
         }
 
-        final List<Figure> figures = playerListMap.get(player);
+        //copied, as the figures of the board change while the moves are checked
+        final List<Figure> figures = new ArrayList<>(playerListMap.get(player));
 
         return figures.stream().
                 //flat maps all possible Moves of each figure into one stream
-                        flatMap(figure -> mapToStrikeMove(figure, board)).
+                        flatMap(figure -> mapToStrikeMove(figure, board, game)).
                 //filter null moves
                         filter(Objects::nonNull).
                 //checks playerMove on validity
@@ -369,18 +451,24 @@ public final class MoveStreamGenerator {
                         collect(Collectors.toList());
     }
 
-    private static Stream<PlayerMove> mapToStrikeMove(Figure figure, FigureBoard board) {
-        final List<Position> allowedPositions = PositionGenerator.getAllowedPositions(figure, board);
+    private static Stream<PlayerMove> mapToStrikeMove(Figure figure, FigureBoard board, Game game) {
+        final List<Position> allowedPositions = getTargets(figure, board, false);
 
-        //no playerMoves if no position is allowed
-        if (allowedPositions.isEmpty()) {
+        //no playerMoves if no position is allowed, except for a blocked pawn which may strike en passant
+        if (allowedPositions.isEmpty() && !figure.is(FigureType.PAWN)) {
             return new ArrayList<PlayerMove>().stream();
         }
 
         if (figure.is(FigureType.PAWN)) {
-            List<PlayerMove> moves = allowedPositions.stream().map(position -> transformStrike(figure, position, board)).collect(Collectors.toList());
+            List<PlayerMove> moves = allowedPositions.stream().map(position -> transformStrike(figure, position, board)).filter(Objects::nonNull).collect(Collectors.toList());
             List<PlayerMove> promotions = getPromotions(moves, figure);
+            //a pawn reaching the back row needs to be promoted
+            moves.removeIf(MoveStreamGenerator::checkPromotable);
             moves.addAll(promotions);
+            PlayerMove enPassant = getEnPassant(figure, game);
+            if (enPassant != null) {
+                moves.add(enPassant);
+            }
             return moves.stream();
         }
 
@@ -0,0 +1,235 @@
+package chessGame.mechanics.move;
+
+import chessGame.mechanics.Color;
+import chessGame.mechanics.FigureType;
+import chessGame.mechanics.Position;
+
+/**
+ * Codec for moves packed into a single {@code int}, to be used in the hot path of a search
+ * instead of {@link PlayerMove}, which needs up to four objects per move.
+ * <p>
+ * Layout of the bits, starting with the least significant:
+ * <pre>
+ *  0 -  5  from panel
+ *  6 - 11  to panel
+ * 12 - 14  ordinal of the moving {@link FigureType}
+ * 15 - 17  ordinal + 1 of the captured FigureType, 0 if nothing is captured
+ * 18 - 20  ordinal + 1 of the FigureType promoted to, 0 if it is no promotion
+ * 21       color of the moving player, 0 for white, 1 for black
+ * 22       castling, from and to are the panels of the king
+ * 23       en passant, to is the panel the pawn moves to
+ * 24       double advance of a pawn
+ * </pre>
+ * The panels are the ones of {@link Position#getPanel()}.
+ * A valid move is never {@link #NONE}, as from and to of a move are never equal.
+ */
+public final class PackedMove {
+    public static final int NONE = 0;
+
+    private static final int FROM_SHIFT = 0;
+    private static final int TO_SHIFT = 6;
+    private static final int PIECE_SHIFT = 12;
+    private static final int CAPTURED_SHIFT = 15;
+    private static final int PROMOTION_SHIFT = 18;
+    private static final int COLOR_SHIFT = 21;
+
+    private static final int PANEL_MASK = 0x3F;
+    private static final int TYPE_MASK = 0x7;
+
+    public static final int CASTLING = 1 << 22;
+    public static final int EN_PASSANT = 1 << 23;
+    public static final int DOUBLE_ADVANCE = 1 << 24;
+
+    private static final FigureType[] types = FigureType.values();
+
+    private PackedMove() {
+        throw new IllegalStateException("No Instances allowed!");
+    }
+
+    /**
+     * Packs a move.
+     *
+     * @param from      panel the figure moves from
+     * @param to        panel the figure moves to
+     * @param piece     type of the moving figure, not null
+     * @param captured  type of the captured figure, null if nothing is captured
+     * @param promotion type the pawn is promoted to, null if it is no promotion
+     * @param color     color of the moving player, not null
+     * @param flags     any combination of {@link #CASTLING}, {@link #EN_PASSANT} and {@link #DOUBLE_ADVANCE}
+     * @return the packed move
+     */
+    public static int encode(int from, int to, FigureType piece, FigureType captured, FigureType promotion, Color color, int flags) {
+        return from << FROM_SHIFT
+                | to << TO_SHIFT
+                | piece.ordinal() << PIECE_SHIFT
+                | (captured == null ? 0 : captured.ordinal() + 1) << CAPTURED_SHIFT
+                | (promotion == null ? 0 : promotion.ordinal() + 1) << PROMOTION_SHIFT
+                | (color == Color.WHITE ? 0 : 1) << COLOR_SHIFT
+                | flags;
+    }
+
+    public static int getFrom(int move) {
+        return (move >>> FROM_SHIFT) & PANEL_MASK;
+    }
+
+    public static int getTo(int move) {
+        return (move >>> TO_SHIFT) & PANEL_MASK;
+    }
+
+    public static FigureType getPiece(int move) {
+        return types[(move >>> PIECE_SHIFT) & TYPE_MASK];
+    }
+
+    /**
+     * @return the captured FigureType or null if nothing is captured
+     */
+    public static FigureType getCaptured(int move) {
+        final int captured = (move >>> CAPTURED_SHIFT) & TYPE_MASK;
+        return captured == 0 ? null : types[captured - 1];
+    }
+
+    /**
+     * @return the FigureType the pawn is promoted to or null if it is no promotion
+     */
+    public static FigureType getPromotion(int move) {
+        final int promotion = (move >>> PROMOTION_SHIFT) & TYPE_MASK;
+        return promotion == 0 ? null : types[promotion - 1];
+    }
+
+    public static Color getColor(int move) {
+        return ((move >>> COLOR_SHIFT) & 1) == 0 ? Color.WHITE : Color.BLACK;
+    }
+
+    public static boolean isWhite(int move) {
+        return ((move >>> COLOR_SHIFT) & 1) == 0;
+    }
+
+    public static boolean isCapture(int move) {
+        return ((move >>> CAPTURED_SHIFT) & TYPE_MASK) != 0;
+    }
+
+    public static boolean isPromotion(int move) {
+        return ((move >>> PROMOTION_SHIFT) & TYPE_MASK) != 0;
+    }
+
+    public static boolean isCastling(int move) {
+        return (move & CASTLING) != 0;
+    }
+
+    public static boolean isEnPassant(int move) {
+        return (move & EN_PASSANT) != 0;
+    }
+
+    public static boolean isDoubleAdvance(int move) {
+        return (move & DOUBLE_ADVANCE) != 0;
+    }
+
+    /**
+     * Returns the panel of the captured figure.
+     * This is the to panel, except for en passant, where the captured pawn stands besides the from panel.
+     *
+     * @param move packed move with a capture
+     * @return panel of the captured figure
+     */
+    public static int getCapturedPanel(int move) {
+        final int to = getTo(move);
+
+        if (isEnPassant(move)) {
+            return isWhite(move) ? to - 8 : to + 8;
+        }
+        return to;
+    }
+
+    /**
+     * @param move packed castling move
+     * @return panel of the rook before castling
+     */
+    public static int getRookFrom(int move) {
+        final int to = getTo(move);
+        return to > getFrom(move) ? to + 1 : to - 2;
+    }
+
+    /**
+     * @param move packed castling move
+     * @return panel of the rook after castling
+     */
+    public static int getRookTo(int move) {
+        final int to = getTo(move);
+        return to > getFrom(move) ? to - 1 : to + 1;
+    }
+
+    /**
+     * Packs a PlayerMove.
+     *
+     * @param playerMove move to pack, not null
+     * @return the packed move
+     */
+    public static int encode(PlayerMove playerMove) {
+        final Move mainMove = playerMove.getMainMove();
+        final Move secondaryMove = playerMove.getSecondaryMove().orElse(null);
+        final int from = mainMove.getFrom().getPanel();
+
+        if (playerMove.isCastlingMove()) {
+            return encode(from, mainMove.getTo().getPanel(), FigureType.KING, null, null, mainMove.getColor(), CASTLING);
+        }
+
+        final FigureType captured = playerMove.isStrike() ? secondaryMove.getFigure() : null;
+
+        if (playerMove.isPromotion()) {
+            //noinspection ConstantConditions
+            final Move promotionMove = playerMove.getPromotionMove().get();
+            final int to = promotionMove.getTo().getPanel();
+            return encode(from, to, FigureType.PAWN, captured, promotionMove.getFigure(), mainMove.getColor(), 0);
+        }
+
+        final int to = mainMove.getTo().getPanel();
+        int flags = 0;
+
+        if (playerMove.isEnpassant()) {
+            flags = EN_PASSANT;
+        } else if (mainMove.isMoving(FigureType.PAWN) && Math.abs(to - from) == 16) {
+            flags = DOUBLE_ADVANCE;
+        }
+        return encode(from, to, mainMove.getFigure(), captured, null, mainMove.getColor(), flags);
+    }
+
+    /**
+     * Unpacks a move into the PlayerMove as it is generated by the {@link MoveForGenerator}.
+     *
+     * @param move packed move, not {@link #NONE}
+     * @return the equivalent PlayerMove
+     */
+    public static PlayerMove decode(int move) {
+        final Color color = getColor(move);
+        final Position from = Position.get(getFrom(move));
+        final Position to = Position.get(getTo(move));
+
+        if (isCastling(move)) {
+            final Move kingMove = new Move(from, to, FigureType.KING, color);
+            final Move rookMove = new Move(Position.get(getRookFrom(move)), Position.get(getRookTo(move)), FigureType.ROOK, color);
+            return PlayerMove.CastlingMove(kingMove, rookMove);
+        }
+
+        final FigureType captured = getCaptured(move);
+        final Move strike = captured == null ? null : new Move(Position.get(getCapturedPanel(move)), Position.Bench, captured, Color.getEnemy(color));
+
+        if (isPromotion(move)) {
+            final Move pawnMove = new Move(from, Position.Promoted, FigureType.PAWN, color);
+            final Move promotionMove = new Move(Position.Unknown, to, getPromotion(move), color);
+            return PlayerMove.PromotionMove(pawnMove, strike, promotionMove);
+        }
+        return new PlayerMove(new Move(from, to, getPiece(move), color), strike);
+    }
+
+    /**
+     * Returns a readable form of the packed move, e.g. {@code e2e4} or {@code e7e8q}.
+     */
+    public static String toString(int move) {
+        if (move == NONE) {
+            return "NONE";
+        }
+        final String notation = Position.get(getFrom(move)).notation() + Position.get(getTo(move)).notation();
+        final FigureType promotion = getPromotion(move);
+        return promotion == null ? notation.toLowerCase() : (notation + promotion.getNotation()).toLowerCase();
+    }
+}
@@ -0,0 +1,106 @@
+package chessGame.mechanics.move;
+
+import chessGame.mechanics.game.FenLoader;
+import chessGame.mechanics.game.Game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Counts the leaf nodes of the move tree like {@link Perft}, but on all cores of a {@link ForkJoinPool}.
+ * <p>
+ * The upper plies are split into one task per move, every task loads its own game from the position
+ * as FEN, as games and boards are not thread safe. Below {@link #SPLIT_DEPTH} a task counts its subtree
+ * alone. Optionally the counts of subtrees are remembered in a {@link PerftTable}, which all tasks share,
+ * so that transpositions are counted only once.
+ */
+public final class ParallelPerft {
+    /**
+     * Subtrees of this depth or less are counted by a single task.
+     */
+    private static final int SPLIT_DEPTH = 3;
+
+    private final ForkJoinPool pool;
+    private final PerftTable table;
+
+    /**
+     * @param parallelism     number of threads
+     * @param tableMegaBytes  size of the table to remember subtree counts in, 0 for none
+     */
+    public ParallelPerft(int parallelism, int tableMegaBytes) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.table = tableMegaBytes > 0 ? new PerftTable(tableMegaBytes) : null;
+    }
+
+    /**
+     * Counts the leaf nodes of the position of the game. The game itself is not changed.
+     *
+     * @param game  game with the position
+     * @param depth number of plies to look ahead
+     * @return number of leaf nodes
+     */
+    public long perft(Game game, int depth) {
+        return pool.invoke(new PerftTask(FenLoader.toFen(game), depth));
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private final class PerftTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final String fen;
+        private final int depth;
+
+        private PerftTask(String fen, int depth) {
+            this.fen = fen;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Long compute() {
+            final Game game = FenLoader.load(fen);
+
+            if (depth <= SPLIT_DEPTH) {
+                return new Perft(game, depth, table).perft(depth);
+            }
+
+            final long hash = game.getBoard().getHash();
+
+            if (table != null) {
+                final long nodes = table.get(hash, depth);
+
+                if (nodes >= 0) {
+                    return nodes;
+                }
+            }
+
+            final MoveList moves = new MoveList();
+            MoveForGenerator.getAllowedMoves(game.getAtMoveColor(), game, moves);
+
+            List<PerftTask> tasks = new ArrayList<>(moves.size());
+
+            for (int index = 0; index < moves.size(); index++) {
+                final int move = moves.get(index);
+
+                game.makeMove(move);
+                tasks.add(new PerftTask(FenLoader.toFen(game), depth - 1));
+                game.unmakeMove(move);
+            }
+
+            long nodes = 0;
+
+            for (PerftTask task : invokeAll(tasks)) {
+                nodes += task.join();
+            }
+
+            if (table != null) {
+                table.put(hash, depth, nodes);
+            }
+            return nodes;
+        }
+    }
+}
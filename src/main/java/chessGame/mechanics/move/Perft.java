@@ -0,0 +1,260 @@
+package chessGame.mechanics.move;
+
+import chessGame.mechanics.game.FenLoader;
+import chessGame.mechanics.game.Game;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts the leaf nodes of the move tree of a position up to a fixed depth (performance test),
+ * to validate the {@link MoveForGenerator} against known counts and to measure its speed.
+ * <p>
+ * Usage:
+ * <pre>
+ * Perft                          runs the suite of standard positions
+ * Perft suite [maxDepth]         runs the suite up to the given depth
+ * Perft &lt;fen&gt; &lt;depth&gt; [divide]   counts one position, divide lists the count of each root move
+ * </pre>
+ * The options {@code parallel} (count with {@link ParallelPerft} on all cores)
+ * and {@code memo=<megaBytes>} (remember subtree counts) may follow the suite or the position.
+ *
+ * @see <a href="https://www.chessprogramming.org/Perft_Results">Perft Results</a>
+ */
+public final class Perft {
+
+    /**
+     * Positions with known node counts, starting with depth 1.
+     */
+    enum SuitePosition {
+        START(FenLoader.START,
+                20, 400, 8902, 197281, 4865609),
+        KIWIPETE("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                48, 2039, 97862, 4085603),
+        ENDGAME("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                14, 191, 2812, 43238, 674624),
+        PROMOTIONS("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                6, 264, 9467, 422333),
+        CHECKS("rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+                44, 1486, 62379, 2103487),
+        MIDDLE_GAME("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+                46, 2079, 89890, 3894594);
+
+        private final String fen;
+        private final long[] counts;
+
+        SuitePosition(String fen, long... counts) {
+            this.fen = fen;
+            this.counts = counts;
+        }
+
+        String getFen() {
+            return fen;
+        }
+
+        int getMaxDepth() {
+            return counts.length;
+        }
+
+        long getCount(int depth) {
+            return counts[depth - 1];
+        }
+    }
+
+    private final Game game;
+    private final MoveList[] moves;
+    private final PerftTable table;
+
+    public Perft(Game game, int maxDepth) {
+        this(game, maxDepth, null);
+    }
+
+    Perft(Game game, int maxDepth, PerftTable table) {
+        this.game = game;
+        this.moves = MoveList.perPly(Math.max(maxDepth, 1));
+        this.table = table;
+    }
+
+    /**
+     * Counts the leaf nodes of the game position.
+     *
+     * @param depth number of plies to look ahead, not greater than the maximum depth
+     * @return number of leaf nodes
+     */
+    public long perft(int depth) {
+        return perft(depth, 0);
+    }
+
+    /**
+     * Counts the leaf nodes below each legal move of the game position.
+     *
+     * @param depth number of plies to look ahead including the root move, at least 1
+     * @return the leaf nodes of each root move, in the order of generation
+     */
+    public Map<String, Long> divide(int depth) {
+        final MoveList rootMoves = new MoveList();
+        MoveForGenerator.getAllowedMoves(game.getAtMoveColor(), game, rootMoves);
+
+        Map<String, Long> result = new LinkedHashMap<>();
+
+        for (int index = 0; index < rootMoves.size(); index++) {
+            final int move = rootMoves.get(index);
+
+            game.makeMove(move);
+            result.put(PackedMove.toString(move), perft(depth - 1, 0));
+            game.unmakeMove(move);
+        }
+        return result;
+    }
+
+    private long perft(int depth, int ply) {
+        if (depth == 0) {
+            return 1;
+        }
+
+        final MoveList plyMoves = moves[ply];
+        MoveForGenerator.getAllowedMoves(game.getAtMoveColor(), game, plyMoves);
+
+        //the moves are legal, so the last ply needs not be made
+        if (depth == 1) {
+            return plyMoves.size();
+        }
+
+        final long hash = game.getBoard().getHash();
+
+        if (table != null) {
+            final long known = table.get(hash, depth);
+
+            if (known >= 0) {
+                return known;
+            }
+        }
+
+        long nodes = 0;
+
+        for (int index = 0; index < plyMoves.size(); index++) {
+            final int move = plyMoves.get(index);
+
+            game.makeMove(move);
+            nodes += perft(depth - 1, ply + 1);
+            game.unmakeMove(move);
+        }
+
+        if (table != null) {
+            table.put(hash, depth, nodes);
+        }
+        return nodes;
+    }
+
+    public static void main(String[] args) {
+        final boolean parallel = hasOption(args, "parallel");
+        final int memo = getMemo(args);
+
+        final PerftTable table = memo > 0 && !parallel ? new PerftTable(memo) : null;
+        final ParallelPerft parallelPerft = parallel ? new ParallelPerft(Runtime.getRuntime().availableProcessors(), memo) : null;
+
+        final int status;
+
+        if (args.length == 0 || args[0].equals("suite")) {
+            final int maxDepth = args.length > 1 && isNumber(args[1]) ? Integer.parseInt(args[1]) : 4;
+            status = runSuite(maxDepth, table, parallelPerft) ? 0 : 1;
+        } else if (args.length >= 2 && isNumber(args[1])) {
+            final String fen = args[0];
+            final int depth = Integer.parseInt(args[1]);
+
+            if (hasOption(args, "divide")) {
+                printDivide(fen, depth);
+            } else {
+                final long nanos = System.nanoTime();
+                final long nodes = count(FenLoader.load(fen), depth, table, parallelPerft);
+                printResult("depth " + depth, nodes, System.nanoTime() - nanos);
+            }
+            status = 0;
+        } else {
+            System.out.println("usage: Perft [suite [maxDepth]] | Perft <fen> <depth> [divide] [parallel] [memo=<megaBytes>]");
+            status = 2;
+        }
+
+        if (parallelPerft != null) {
+            parallelPerft.shutdown();
+        }
+        System.exit(status);
+    }
+
+    private static long count(Game game, int depth, PerftTable table, ParallelPerft parallelPerft) {
+        return parallelPerft == null ? new Perft(game, depth, table).perft(depth) : parallelPerft.perft(game, depth);
+    }
+
+    private static boolean hasOption(String[] args, String option) {
+        for (String arg : args) {
+            if (arg.equals(option)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int getMemo(String[] args) {
+        for (String arg : args) {
+            if (arg.startsWith("memo=")) {
+                return Integer.parseInt(arg.substring("memo=".length()));
+            }
+        }
+        return 0;
+    }
+
+    private static boolean isNumber(String arg) {
+        return arg.matches("\\d+");
+    }
+
+    private static boolean runSuite(int maxDepth, PerftTable table, ParallelPerft parallelPerft) {
+        boolean passed = true;
+        long totalNodes = 0;
+        long totalNanos = 0;
+
+        for (SuitePosition position : SuitePosition.values()) {
+            final int depth = Math.min(maxDepth, position.getMaxDepth());
+
+            for (int current = 1; current <= depth; current++) {
+                final Game game = FenLoader.load(position.getFen());
+
+                final long nanos = System.nanoTime();
+                final long nodes = count(game, current, table, parallelPerft);
+                final long duration = System.nanoTime() - nanos;
+
+                final long expected = position.getCount(current);
+                final boolean correct = nodes == expected;
+                passed &= correct;
+
+                totalNodes += nodes;
+                totalNanos += duration;
+
+                printResult(position + " depth " + current + (correct ? " ok" : " FAILED, expected " + expected), nodes, duration);
+            }
+        }
+        printResult("total", totalNodes, totalNanos);
+        System.out.println(passed ? "all counts correct" : "counts differ");
+        return passed;
+    }
+
+    private static void printDivide(String fen, int depth) {
+        final long nanos = System.nanoTime();
+        final Map<String, Long> divide = new Perft(FenLoader.load(fen), depth).divide(depth);
+        final long duration = System.nanoTime() - nanos;
+
+        long nodes = 0;
+
+        for (Map.Entry<String, Long> entry : divide.entrySet()) {
+            System.out.println(entry.getKey() + ": " + entry.getValue());
+            nodes += entry.getValue();
+        }
+        System.out.println("moves: " + divide.size());
+        printResult("depth " + depth, nodes, duration);
+    }
+
+    private static void printResult(String label, long nodes, long nanos) {
+        final long millis = nanos / 1_000_000;
+        final long nodesPerSecond = nanos == 0 ? 0 : nodes * 1_000_000_000L / nanos;
+        System.out.println(label + ": " + nodes + " nodes in " + millis + " ms, " + nodesPerSecond + " nodes/s");
+    }
+}
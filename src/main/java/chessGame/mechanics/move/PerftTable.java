@@ -0,0 +1,59 @@
+package chessGame.mechanics.move;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Memory for the node counts of subtrees of a perft run, keyed by the Zobrist hash of the position and the depth.
+ * <p>
+ * Every slot consists of two longs, the data ({@code nodes << 8 | depth}) and the hash XOR the data.
+ * Threads write both without locking, a slot with parts of two different writes fails the XOR check
+ * and counts as missing. A new entry always replaces the old one of its slot.
+ */
+final class PerftTable {
+    private static final int DEPTH_BITS = 8;
+    private static final long DEPTH_MASK = (1L << DEPTH_BITS) - 1;
+
+    private final AtomicLongArray entries;
+    private final int mask;
+
+    /**
+     * @param megaBytes size of the table, which is rounded down to a power of two slots
+     */
+    PerftTable(int megaBytes) {
+        if (megaBytes <= 0) {
+            throw new IllegalArgumentException("size of table needs to be positive: " + megaBytes);
+        }
+        final int slots = Integer.highestOneBit((int) Math.min(Integer.MAX_VALUE / 2, megaBytes * 1024L * 1024L / 16));
+        entries = new AtomicLongArray(slots * 2);
+        mask = slots - 1;
+    }
+
+    /**
+     * @param hash  Zobrist hash of the position
+     * @param depth remaining depth of the subtree
+     * @return the node count, or -1 if it is not known
+     */
+    long get(long hash, int depth) {
+        final int index = index(hash, depth);
+        final long data = entries.get(index);
+        final long key = entries.get(index + 1);
+
+        if ((key ^ data) != hash || (data & DEPTH_MASK) != depth) {
+            return -1;
+        }
+        return data >>> DEPTH_BITS;
+    }
+
+    void put(long hash, int depth, long nodes) {
+        final int index = index(hash, depth);
+        final long data = nodes << DEPTH_BITS | depth;
+
+        entries.set(index, data);
+        entries.set(index + 1, hash ^ data);
+    }
+
+    private int index(long hash, int depth) {
+        //the same position is counted for several depths, which should not evict each other
+        return (int) ((hash + depth * 0x9E3779B97F4A7C15L) & mask) * 2;
+    }
+}
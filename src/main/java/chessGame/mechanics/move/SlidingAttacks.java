@@ -0,0 +1,190 @@
+package chessGame.mechanics.move;
+
+/**
+ * Precomputed attack tables for the sliding Figures (Rook, Bishop and Queen).
+ * <p>
+ * The tables are built once at class-load time with the magic-bitboard technique:
+ * the relevant blockers of a panel are multiplied with a magic number, so that the
+ * highest bits of the product form a perfect hash into the table of attacks for that panel.
+ * A lookup is therefore a mask, a multiplication, a shift and an array access.
+ * The magic numbers were found once by a random search and are hardcoded,
+ * as searching them on every start takes seconds.
+ * <p>
+ * All masks use the panel numbering of {@link chessGame.mechanics.Position}, bit {@code n} is panel {@code n}.
+ *
+ * @see <a href="https://www.chessprogramming.org/Magic_Bitboards">Magic Bitboards</a>
+ */
+public final class SlidingAttacks {
+    private static final int[][] ROOK_DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+
+    private static final long[] rookMagics = {
+            0x0A80001080244000L, 0x8440049000200240L, 0xA080200080100008L, 0x4300086205001000L,
+            0x66002004700A0008L, 0x3200081001040200L, 0x3080008002000100L, 0x0E00004081082204L,
+            0x1400800080304000L, 0x1020401000200040L, 0x4000801000802000L, 0x0002000C20401200L,
+            0x0020800400800800L, 0x0080800400800200L, 0x4004001008020481L, 0x0140800040800100L,
+            0x00C0828000204000L, 0x0040010020408901L, 0x0841010040200010L, 0x240012000A420021L,
+            0x1200808004000800L, 0x0002010100040008L, 0x0200040002011008L, 0x8090020000A04104L,
+            0x0200400080008020L, 0x0200400180200080L, 0x2440410100200010L, 0x2090100080080080L,
+            0x0002050100080010L, 0x8B0A000200100804L, 0x0200100400020108L, 0xC1C2050600004084L,
+            0x0020800101002040L, 0x2000804000802010L, 0x2400820042002011L, 0x1000201001000904L,
+            0x8041001005000800L, 0x4000040080800200L, 0x0002005812000401L, 0xA0408004C0800B00L,
+            0x0410400080288000L, 0x127002432004C000L, 0x2C80408208220010L, 0x8409042010010008L,
+            0x0000080004008080L, 0x0084000402008080L, 0x0418902221240008L, 0x80021302408A0004L,
+            0x0540002080104080L, 0x20200040100020C0L, 0x0040100020048480L, 0x4440080080100080L,
+            0x0802050010080100L, 0x0348020004008080L, 0x8001001402005100L, 0x0882800100004080L,
+            0x2001008000204011L, 0x4082014303142082L, 0x8040090520001041L, 0x001221005000C805L,
+            0x0201001002040801L, 0x1002001001040882L, 0x8000109022010804L, 0xA02201108C004022L
+    };
+
+    private static final long[] bishopMagics = {
+            0x4641140404004014L, 0x8142220809011000L, 0x4030530200701218L, 0x00022082000C0480L,
+            0x8004042124000080L, 0x02AA080208800048L, 0x030A011C82404008L, 0x0000104804500800L,
+            0x0840081044008400L, 0xC101040108020084L, 0x0060080811002200L, 0x0000242401800042L,
+            0x0030011040000000L, 0x0208008804400800L, 0x0000040148080484L, 0x0000008208010402L,
+            0x0010210644100400L, 0x0010008801082080L, 0x180A480800810200L, 0x0400800802044400L,
+            0x8202140401200000L, 0x501200414804242CL, 0x0441014C48080480L, 0x0802282844141400L,
+            0x01044011A0020400L, 0x4030280830018101L, 0x0000881010004010L, 0x0001040080440080L,
+            0x0110030004200802L, 0x0140420100411008L, 0x000C028222621042L, 0x6822004804884804L,
+            0x4008200418122400L, 0xC002121001210144L, 0x4207080101020400L, 0x7422020082180080L,
+            0x2054050201240048L, 0x100604010000B000L, 0x141401104B020805L, 0x00042100223A0082L,
+            0x2004042008880400L, 0x0004024802020480L, 0x008100128A003001L, 0x1000002018000100L,
+            0x1082011024000080L, 0x8820081000200112L, 0x104870210C400200L, 0x011C010408388100L,
+            0x2C00880802100200L, 0x890044008410A800L, 0x0051021042084006L, 0x1410011084044000L,
+            0x1000001002088004L, 0x2006202411820000L, 0x00C0032204130A00L, 0x0820640420444080L,
+            0x1200208808084208L, 0xA000404058084822L, 0x5000010042080420L, 0x84100E9041228800L,
+            0x0000240040028210L, 0x0000002104010200L, 0x01A0441418882102L, 0x0108103040802080L
+    };
+
+    private static final long[] rookMasks = new long[64];
+    private static final int[] rookShifts = new int[64];
+    private static final long[][] rookAttacks = new long[64][];
+
+    private static final long[] bishopMasks = new long[64];
+    private static final int[] bishopShifts = new int[64];
+    private static final long[][] bishopAttacks = new long[64][];
+
+    static {
+        for (int panel = 0; panel < 64; panel++) {
+            initPanel(panel, ROOK_DIRECTIONS, rookMasks, rookMagics[panel], rookShifts, rookAttacks);
+            initPanel(panel, BISHOP_DIRECTIONS, bishopMasks, bishopMagics[panel], bishopShifts, bishopAttacks);
+        }
+    }
+
+    private SlidingAttacks() {
+        throw new IllegalStateException("No Instances allowed!");
+    }
+
+    /**
+     * Returns the panels a rook on the given panel attacks.
+     * The first blocker in each direction is included, regardless of its color.
+     *
+     * @param panel    panel of the rook, 0 <= panel <= 63
+     * @param occupied occupancy of the whole board
+     * @return attacked panels as bitboard
+     */
+    public static long rookAttacks(int panel, long occupied) {
+        final long blockers = occupied & rookMasks[panel];
+        return rookAttacks[panel][(int) ((blockers * rookMagics[panel]) >>> rookShifts[panel])];
+    }
+
+    /**
+     * Returns the panels a bishop on the given panel attacks.
+     * The first blocker in each direction is included, regardless of its color.
+     *
+     * @param panel    panel of the bishop, 0 <= panel <= 63
+     * @param occupied occupancy of the whole board
+     * @return attacked panels as bitboard
+     */
+    public static long bishopAttacks(int panel, long occupied) {
+        final long blockers = occupied & bishopMasks[panel];
+        return bishopAttacks[panel][(int) ((blockers * bishopMagics[panel]) >>> bishopShifts[panel])];
+    }
+
+    /**
+     * Returns the panels a queen on the given panel attacks.
+     *
+     * @param panel    panel of the queen, 0 <= panel <= 63
+     * @param occupied occupancy of the whole board
+     * @return attacked panels as bitboard
+     */
+    public static long queenAttacks(int panel, long occupied) {
+        return rookAttacks(panel, occupied) | bishopAttacks(panel, occupied);
+    }
+
+    private static void initPanel(int panel, int[][] directions, long[] masks, long magic, int[] shifts, long[][] attackTable) {
+        final long mask = relevantBlockers(panel, directions);
+        final int bits = Long.bitCount(mask);
+        final int shift = 64 - bits;
+
+        long[] table = new long[1 << bits];
+        boolean[] used = new boolean[1 << bits];
+
+        //enumerate all subsets of the mask (carry-rippler)
+        long subset = 0;
+        do {
+            final int index = (int) ((subset * magic) >>> shift);
+            final long attacks = walkRays(panel, subset, directions);
+
+            if (used[index] && table[index] != attacks) {
+                throw new IllegalStateException("Magic of panel " + panel + " is not collision free");
+            }
+            used[index] = true;
+            table[index] = attacks;
+            subset = (subset - mask) & mask;
+        } while (subset != 0);
+
+        masks[panel] = mask;
+        shifts[panel] = shift;
+        attackTable[panel] = table;
+    }
+
+    /**
+     * Returns the panels, whose occupation influences the attacks from the given panel.
+     * The last panel of a ray is never relevant, as it is attacked either way.
+     */
+    private static long relevantBlockers(int panel, int[][] directions) {
+        final int row = panel / 8;
+        final int column = panel % 8;
+        long mask = 0;
+
+        for (int[] direction : directions) {
+            int nextRow = row + direction[0];
+            int nextColumn = column + direction[1];
+
+            while (isInside(nextRow + direction[0], nextColumn + direction[1])) {
+                mask |= 1L << (nextRow * 8 + nextColumn);
+                nextRow += direction[0];
+                nextColumn += direction[1];
+            }
+        }
+        return mask;
+    }
+
+    private static long walkRays(int panel, long occupied, int[][] directions) {
+        final int row = panel / 8;
+        final int column = panel % 8;
+        long attacks = 0;
+
+        for (int[] direction : directions) {
+            int nextRow = row + direction[0];
+            int nextColumn = column + direction[1];
+
+            while (isInside(nextRow, nextColumn)) {
+                final long bit = 1L << (nextRow * 8 + nextColumn);
+                attacks |= bit;
+
+                if ((occupied & bit) != 0) {
+                    break;
+                }
+                nextRow += direction[0];
+                nextColumn += direction[1];
+            }
+        }
+        return attacks;
+    }
+
+    private static boolean isInside(int row, int column) {
+        return row >= 0 && row < 8 && column >= 0 && column < 8;
+    }
+}